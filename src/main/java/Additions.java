@@ -0,0 +1,43 @@
+import java.util.*;
+
+import com.google.gson.*;
+
+//What one addMissing category is going to add to a save: the catalog entries and the save entries built for them.
+//It's worked out without touching the save (see JsonUtils.completeCollection()), so categories can be planned
+//on different threads, and then applied to the save one at a time.
+public class Additions<T> {
+
+    private final List<T> metas = new ArrayList<>();
+    private final JsonArray entries = new JsonArray();
+
+    public void add(T meta, JsonObject entry) {
+        metas.add(meta);
+        entries.add(entry);
+    }
+
+    public int size() {
+        return metas.size();
+    }
+
+    public boolean isEmpty() {
+        return metas.isEmpty();
+    }
+
+    public T getMeta(int i) {
+        return metas.get(i);
+    }
+
+    public JsonObject getEntry(int i) {
+        return entries.get(i).getAsJsonObject();
+    }
+
+    public List<T> getMetas() {
+        return Collections.unmodifiableList(metas);
+    }
+
+    //in the same order as getMetas()
+    public JsonArray getEntries() {
+        return entries;
+    }
+
+}
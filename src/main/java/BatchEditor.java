@@ -0,0 +1,205 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Non-interactive mode: edits every save in a folder (or matching a glob) with the answers from an edit profile.
+//The rsrc catalog is loaded once and shared by all saves, which are spread over a work-stealing pool.
+//
+//Usage: java -jar DragaliaSaveEditor.jar --batch <folder|glob> --profile <file> [--out <folder>] [--threads <n>]
+public class BatchEditor {
+
+    private final List<Path> savePaths;
+    private final EditProfile profile;
+    private final Path outDir;
+    private final int threads;
+
+    private Catalog catalog;
+    private final AtomicLong parsedBytes = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicInteger repairedSaves = new AtomicInteger();
+
+    public BatchEditor(List<Path> savePaths, EditProfile profile, Path outDir, int threads) {
+        this.savePaths = savePaths;
+        this.profile = profile;
+        this.outDir = outDir;
+        this.threads = threads;
+    }
+
+    public static boolean isBatchArgs(String[] args) {
+        return args.length > 0 && args[0].equals("--batch");
+    }
+
+    public static void main(String[] args) {
+        String input = null;
+        String profilePath = null;
+        String out = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "--batch": input = args[i + 1]; break;
+                case "--profile": profilePath = args[i + 1]; break;
+                case "--out": out = args[i + 1]; break;
+                case "--threads": threads = Math.max(1, Integer.parseInt(args[i + 1])); break;
+                default:
+                    System.out.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (input == null || profilePath == null) {
+            System.out.println("Usage: --batch <folder|glob> --profile <file> [--out <folder>] [--threads <n>]");
+            System.exit(1);
+        }
+
+        try {
+            List<Path> saves = findSaves(input);
+            if (saves.isEmpty()) {
+                System.out.println("No saves found for '" + input + "'");
+                System.exit(1);
+            }
+            Path outDir = out != null ? Paths.get(out) : saves.get(0).toAbsolutePath().getParent().resolve("edited");
+            EditProfile profile = new EditProfile(profilePath);
+            System.out.println("Editing " + saves.size() + " saves with " + threads + " threads: " + profile);
+            boolean allPassed = new BatchEditor(saves, profile, outDir, threads).run();
+            System.exit(allPassed ? 0 : 2);
+        } catch (IOException | CatalogLoadException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    //input is either a folder (every file in it) or a glob such as 'saves/*.txt'
+    public static List<Path> findSaves(String input) throws IOException {
+        Path path = Paths.get(input);
+        List<Path> out = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                stream.forEach(file -> { if (Files.isRegularFile(file)) out.add(file); });
+            }
+        } else {
+            Path dir = path.toAbsolutePath().getParent();
+            String glob = path.getFileName().toString();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+                stream.forEach(file -> { if (Files.isRegularFile(file)) out.add(file); });
+            }
+        }
+        Collections.sort(out);
+        return out;
+    }
+
+    //returns false if any save failed to edit. A catalog that can't be read stops the whole run
+    public boolean run() throws IOException {
+        Files.createDirectories(outDir);
+        catalog = new Catalog();
+        catalog.load(); //the catalogs themselves are read by whichever save needs them first
+
+        if (profile.isStreamable()) {
+            System.out.println("Every edit stays within one list, streaming saves instead of loading them whole");
+        }
+
+        long[] latencies = new long[savePaths.size()];
+        String[] failures = new String[savePaths.size()];
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < savePaths.size(); i++) {
+            int index = i;
+            tasks.add(pool.submit(() -> {
+                long saveStart = System.nanoTime();
+                failures[index] = editSave(savePaths.get(index));
+                latencies[index] = System.nanoTime() - saveStart;
+            }));
+        }
+        try {
+            tasks.forEach(ForkJoinTask::join);
+        } catch (CatalogLoadException e) {
+            pool.shutdownNow(); //every other save would fail the same way
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int failCount = 0;
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                failCount++;
+                System.out.println("FAILED " + savePaths.get(i) + ": " + failures[i]);
+            }
+        }
+        printSummary(latencies, elapsed, failCount);
+        return failCount == 0;
+    }
+
+    //returns null on success, or the reason the save wasn't written
+    private String editSave(Path savePath) {
+        String outPath = outDir.resolve(savePath.getFileName()).toString();
+        try {
+            if (profile.isStreamable()) {
+                //a streamer holds per-save state, so each save gets its own
+                SaveStreamer streamer = profile.newStreamer(catalog);
+                boolean passed = streamer.stream(savePath.toString(), outPath);
+                if (!streamer.getDupeReport().isClean()) {
+                    repairedSaves.incrementAndGet();
+                }
+                return passed ? null : "save failed the export tests";
+            }
+            SaveLoader saveLoader = new SaveLoader(savePath.toString());
+            if (!saveLoader.isLoaded()) {
+                return saveLoader.getError() + (saveLoader.getErrorLine() == -1 ? "" :
+                        " (line " + saveLoader.getErrorLine() + ", column " + saveLoader.getErrorColumn() + ")");
+            }
+            parsedBytes.addAndGet(saveLoader.getByteCount());
+            parseNanos.addAndGet(saveLoader.getParseNanos());
+            JsonUtils util = new JsonUtils(saveLoader.getSaveData(), catalog, profile.getOptions());
+            if (!util.deleteDupeIds().isClean()) {
+                repairedSaves.incrementAndGet();
+            }
+            profile.apply(util);
+            if (!util.checkTests()) {
+                return "save failed the export tests";
+            }
+            util.writeToFile(outPath);
+            return null;
+        } catch (CatalogLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    private void printSummary(long[] latencies, long elapsedNanos, int failCount) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.println("Edited " + (sorted.length - failCount) + "/" + sorted.length + " saves in "
+                + String.format("%.2f", seconds) + " s (" + String.format("%.1f", sorted.length / seconds) + " saves/sec)");
+        System.out.println("Per-save latency: p50 " + String.format("%.1f", percentile(sorted, 50) / 1e6) + " ms, p99 "
+                + String.format("%.1f", percentile(sorted, 99) / 1e6) + " ms");
+        if (parseNanos.get() > 0) { //streamed saves are parsed as they're edited, so they aren't counted here
+            System.out.println(String.format("Parsed %.2f MB of saves at %.1f MB/s per thread",
+                    parsedBytes.get() / 1e6, parsedBytes.get() / 1e6 / (parseNanos.get() / 1e9)));
+        }
+        if (repairedSaves.get() > 0) {
+            System.out.println("Fixed dupe IDs in " + repairedSaves.get() + " saves");
+        }
+        System.out.println(catalog.getLoadSummary());
+        System.out.println("Output written to " + outDir);
+    }
+
+    //nearest-rank percentile of a sorted array
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+}
@@ -0,0 +1,827 @@
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import meta.*;
+
+//Game data pulled from the rsrc folder. Shared (read-only) by every JsonUtils that edits a save.
+//Each catalog is only read the first time something asks for it, so a run that only touches
+//mana/rupies/materials never parses the adventurer or ability data. Loads are thread-safe and happen once.
+//warmUp() can also read them ahead of time on a few threads, e.g. while the save itself is being parsed.
+public class Catalog {
+
+    private static final Gson GSON = new Gson();
+
+    //pulled from datamine, only the IDs are used
+    private IntBuffer abilityIds;
+
+    //Ability Name --> Ability ID
+    private HashMap<String, Integer> kscapeAbilityMap = new HashMap<>();
+    //Adventurer Title --> Portrait Print ID
+    private HashMap<String, Integer> kscapeLabelsMap = new HashMap<>();
+    private List<Integer> kscapePortraitIDs = new ArrayList<>();
+    //Adventurer ID --> their 5 Adventurer Story IDs
+    private IntMap<int[]> adventurerStoryMap = new IntMap<>();
+
+    //Maps
+    private IntMap<AdventurerMeta> idToAdventurer = new IntMap<>();
+    private HashMap<String, AdventurerMeta> nameToAdventurer = new HashMap<>();
+
+    private IntMap<DragonMeta> idToDragon = new IntMap<>();
+    private HashMap<String, DragonMeta> nameToDragon = new HashMap<>();
+
+    private IntMap<WeaponMeta> idToWeapon = new IntMap<>();
+    private IntMap<String> idToWeaponSkinName = new IntMap<>();
+    private IntMap<WyrmprintMeta> idToPrint = new IntMap<>();
+    private IntMap<FacilityMeta> idToFacility = new IntMap<>();
+    private IntMap<MaterialMeta> idToMaterial = new IntMap<>();
+
+    //Alias Maps
+    private HashMap<String, List<String>> adventurerAliases = new HashMap<>();
+    private HashMap<String, List<String>> dragonAliases = new HashMap<>();
+
+    private JsonObject maxedFacilityBonuses;
+
+    //ID --> {maxed, un-upgraded} entity as written to a save (see EntityTemplates)
+    private IntMap<JsonObject[]> unitTemplates = new IntMap<>();
+    private IntMap<JsonObject[]> dragonTemplates = new IntMap<>();
+    private IntMap<JsonObject[]> weaponTemplates = new IntMap<>();
+    private IntMap<JsonObject[]> printTemplates = new IntMap<>();
+
+    //IDs by element, rarity... for filtered edits (see CatalogIndex)
+    private CatalogIndex<AdventurerMeta> adventurerIndex;
+    private CatalogIndex<DragonMeta> dragonIndex;
+    private CatalogIndex<WeaponMeta> weaponIndex;
+    private CatalogIndex<WyrmprintMeta> printIndex;
+
+    //prefix/typo-tolerant lookup by name, alias or title (see NameIndex)
+    private NameIndex<AdventurerMeta> adventurerNames;
+    private NameIndex<DragonMeta> dragonNames;
+
+    //null when reading straight from the rsrc files
+    private CatalogFile catalogFile;
+    private boolean skipCatalogFile;
+    private boolean catalogFileMapped;
+
+    //catalog name --> nanos it took to load, in the order they were loaded
+    private final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    //every other section reads through this one, so they all agree on where the data comes from
+    private final Section source = new Section(CatalogFile.FILE_NAME, this::openCatalogFile);
+    private final Section aliases = new Section("aliases", this::readAliasesData);
+    private final Section adventurers = new Section("adventurers", this::loadAdventurers);
+    private final Section dragons = new Section("dragons", this::loadDragons);
+    private final Section kscapeAbilities = new Section("kscapeAbilities", this::loadKscapeAbilities);
+    private final Section kscapeLabels = new Section("kscapeLabels", this::loadKscapeLabels);
+    private final Section stories = new Section("stories", this::loadStories);
+    private final Section weaponSkins = new Section("weaponSkins", this::loadWeaponSkins);
+    private final Section weapons = new Section("weapons", this::loadWeapons);
+    private final Section prints = new Section("prints", this::loadPrints);
+    private final Section abilities = new Section("abilities", this::loadAbilities);
+    private final Section facilities = new Section("facilities", this::loadFacilities);
+    private final Section materials = new Section("materials", this::loadMaterials);
+    //built from the catalogs above, the first time an entity of that kind is added or maxed
+    private final Section unitTemplateSection = new Section("unitTemplates",
+            () -> EntityTemplates.buildUnits(getIdToAdventurer(), unitTemplates));
+    private final Section dragonTemplateSection = new Section("dragonTemplates",
+            () -> EntityTemplates.buildDragons(getIdToDragon(), dragonTemplates));
+    private final Section weaponTemplateSection = new Section("weaponTemplates",
+            () -> EntityTemplates.buildWeapons(getIdToWeapon(), weaponTemplates));
+    private final Section printTemplateSection = new Section("printTemplates",
+            () -> EntityTemplates.buildPrints(getIdToPrint(), printTemplates));
+    //same, the first time a filtered edit needs them
+    private final Section adventurerIndexSection = new Section("adventurerIndex",
+            () -> adventurerIndex = CatalogIndex.ofAdventurers(getIdToAdventurer()));
+    private final Section dragonIndexSection = new Section("dragonIndex",
+            () -> dragonIndex = CatalogIndex.ofDragons(getIdToDragon()));
+    private final Section weaponIndexSection = new Section("weaponIndex",
+            () -> weaponIndex = CatalogIndex.ofWeapons(getIdToWeapon()));
+    private final Section printIndexSection = new Section("printIndex",
+            () -> printIndex = CatalogIndex.ofPrints(getIdToPrint()));
+    private final Section adventurerNameSection = new Section("adventurerNames",
+            () -> adventurerNames = new NameIndex<>(getNameToAdventurer(), getTitleToAdventurer()));
+    private final Section dragonNameSection = new Section("dragonNames",
+            () -> dragonNames = new NameIndex<>(getNameToDragon(), Collections.emptyMap()));
+
+    //Picks where the catalogs will be read from: the compiled rsrc/catalog.bin when it's there (built by
+    //CatalogCompiler during 'mvn compile'), otherwise the rsrc files, e.g. when running from an IDE that
+    //skips the maven build. Nothing else is read until it's asked for.
+    public void load() {
+        source.ensureLoaded();
+    }
+
+    //reads every catalog from the rsrc files (used to build catalog.bin)
+    public void loadFromJson() {
+        skipCatalogFile = true;
+        loadAll();
+    }
+
+    public void loadAll() {
+        for (Section section : new Section[]{adventurers, dragons, kscapeAbilities, kscapeLabels, stories,
+                weaponSkins, weapons, prints, abilities, facilities, materials}) {
+            section.ensureLoaded();
+        }
+    }
+
+    //Reads the catalogs on their own small pool: aliases before adventurers and dragons, the rest all at once.
+    //abilities is left out since only kscapeRandomizer() needs it. The future fails as soon as any catalog
+    //fails (with a CatalogLoadException), without waiting for the others.
+    public CompletableFuture<Void> warmUp(int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> opened = CompletableFuture.runAsync(source::ensureLoaded, pool);
+        List<CompletableFuture<Void>> loads = new ArrayList<>();
+        loads.add(opened);
+        //aliases are only needed when there's no catalog.bin, ensureLoaded() skips them otherwise
+        CompletableFuture<Void> aliasesRead = opened.thenRunAsync(() -> {
+            if (catalogFile == null) {
+                aliases.ensureLoaded();
+            }
+        }, pool);
+        loads.add(aliasesRead);
+        loads.add(aliasesRead.thenRunAsync(adventurers::ensureLoaded, pool));
+        loads.add(aliasesRead.thenRunAsync(dragons::ensureLoaded, pool));
+        //names are only looked up when adding adventurers/dragons one by one, which is when this runs anyway
+        loads.add(aliasesRead.thenRunAsync(adventurerNameSection::ensureLoaded, pool));
+        loads.add(aliasesRead.thenRunAsync(dragonNameSection::ensureLoaded, pool));
+        for (Section section : new Section[]{facilities, weapons, stories, prints, materials, weaponSkins,
+                kscapeLabels, kscapeAbilities}) {
+            loads.add(opened.thenRunAsync(section::ensureLoaded, pool));
+        }
+        for (CompletableFuture<Void> load : loads) {
+            load.whenComplete((ignored, e) -> {
+                if (e != null) {
+                    done.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                }
+            });
+        }
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).thenRun(() -> done.complete(null));
+        done.whenComplete((ignored, e) -> pool.shutdown());
+        return done;
+    }
+
+    //waits for warmUp(), rethrowing whatever made it fail
+    public static void awaitWarmUp(CompletableFuture<Void> warmUp) {
+        try {
+            warmUp.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CatalogLoadException) {
+                throw (CatalogLoadException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public boolean isFromCatalogFile() { return catalogFile != null; }
+    //true if catalog.bin is read in place from a memory-mapped file rather than from a copy on the heap
+    public boolean isCatalogFileMapped() { return catalogFile != null && catalogFileMapped; }
+
+    //catalog name --> nanos it took, for the catalogs this run actually loaded
+    public Map<String, Long> getLoadTimes() {
+        synchronized (loadTimes) {
+            return new LinkedHashMap<>(loadTimes);
+        }
+    }
+
+    //times add up across threads, so with warmUp() the total is more than the wall time
+    public String getLoadSummary() {
+        Map<String, Long> times = getLoadTimes();
+        if (times.isEmpty()) {
+            return "Loaded no catalogs";
+        }
+        List<String> out = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : times.entrySet()) {
+            String name = entry.getKey().equals(CatalogFile.FILE_NAME) && isCatalogFileMapped() ? entry.getKey() + " (mapped)" : entry.getKey();
+            out.add(name + " " + String.format("%.1f", entry.getValue() / 1e6) + " ms");
+            total += entry.getValue();
+        }
+        return "Loaded " + times.size() + " catalogs in " + String.format("%.1f", total / 1e6) + " ms: " + String.join(", ", out);
+    }
+
+    //shared, only use the absolute get(i)
+    public IntBuffer getAbilityIds() { abilities.ensureLoaded(); return abilityIds; }
+    public HashMap<String, Integer> getKscapeAbilityMap() { kscapeAbilities.ensureLoaded(); return kscapeAbilityMap; }
+    public HashMap<String, Integer> getKscapeLabelsMap() { kscapeLabels.ensureLoaded(); return kscapeLabelsMap; }
+    public List<Integer> getKscapePortraitIDs() { kscapeLabels.ensureLoaded(); return kscapePortraitIDs; }
+    public IntMap<int[]> getAdventurerStoryMap() { stories.ensureLoaded(); return adventurerStoryMap; }
+    public IntMap<AdventurerMeta> getIdToAdventurer() { adventurers.ensureLoaded(); return idToAdventurer; }
+    public HashMap<String, AdventurerMeta> getNameToAdventurer() { adventurers.ensureLoaded(); return nameToAdventurer; }
+    public IntMap<DragonMeta> getIdToDragon() { dragons.ensureLoaded(); return idToDragon; }
+    public HashMap<String, DragonMeta> getNameToDragon() { dragons.ensureLoaded(); return nameToDragon; }
+    public IntMap<WeaponMeta> getIdToWeapon() { weapons.ensureLoaded(); return idToWeapon; }
+    public IntMap<String> getIdToWeaponSkinName() { weaponSkins.ensureLoaded(); return idToWeaponSkinName; }
+    public IntMap<WyrmprintMeta> getIdToPrint() { prints.ensureLoaded(); return idToPrint; }
+    public IntMap<FacilityMeta> getIdToFacility() { facilities.ensureLoaded(); return idToFacility; }
+    public IntMap<MaterialMeta> getIdToMaterial() { materials.ensureLoaded(); return idToMaterial; }
+
+    //shared by every save, only hand out EntityTemplates.stamp() copies. null if there's no such entity
+    public JsonObject getUnitTemplate(int id, boolean min) { unitTemplateSection.ensureLoaded(); return template(unitTemplates, id, min); }
+    public JsonObject getDragonTemplate(int id, boolean min) { dragonTemplateSection.ensureLoaded(); return template(dragonTemplates, id, min); }
+    public JsonObject getWeaponTemplate(int id, boolean min) { weaponTemplateSection.ensureLoaded(); return template(weaponTemplates, id, min); }
+    public JsonObject getPrintTemplate(int id, boolean min) { printTemplateSection.ensureLoaded(); return template(printTemplates, id, min); }
+
+    //everything in the catalog that matches, in ID order
+    public List<AdventurerMeta> findAdventurers(CatalogFilter filter) { adventurerIndexSection.ensureLoaded(); return adventurerIndex.find(filter); }
+    public List<DragonMeta> findDragons(CatalogFilter filter) { dragonIndexSection.ensureLoaded(); return dragonIndex.find(filter); }
+    public List<WeaponMeta> findWeapons(CatalogFilter filter) { weaponIndexSection.ensureLoaded(); return weaponIndex.find(filter); }
+    public List<WyrmprintMeta> findPrints(CatalogFilter filter) { printIndexSection.ensureLoaded(); return printIndex.find(filter); }
+
+    public NameIndex<AdventurerMeta> getAdventurerNames() { adventurerNameSection.ensureLoaded(); return adventurerNames; }
+    public NameIndex<DragonMeta> getDragonNames() { dragonNameSection.ensureLoaded(); return dragonNames; }
+
+    private Map<String, AdventurerMeta> getTitleToAdventurer() {
+        Map<String, AdventurerMeta> out = new HashMap<>();
+        for (AdventurerMeta adventurer : getIdToAdventurer().values()) {
+            if (!adventurer.getTitle().isEmpty()) {
+                out.putIfAbsent(adventurer.getTitle(), adventurer);
+            }
+        }
+        return out;
+    }
+
+    private static JsonObject template(IntMap<JsonObject[]> templates, int id, boolean min) {
+        JsonObject[] pair = templates.get(id);
+        return pair == null ? null : pair[min ? EntityTemplates.MIN : EntityTemplates.MAX];
+    }
+
+    //used by CatalogFile
+    String getMaxedFacilityBonusesJson() { facilities.ensureLoaded(); return maxedFacilityBonuses.toString(); }
+
+    //the same catalog is shared between saves, so hand out copies of anything that gets added to a save
+    public JsonElement getMaxedFacilityBonus(String memberName) {
+        facilities.ensureLoaded();
+        return new JsonParser().parse(maxedFacilityBonuses.get(memberName).toString());
+    }
+
+    //One catalog (or a few that are always read together). The volatile flag makes whatever the loader
+    //wrote visible to every thread that sees loaded == true. A failed load is remembered and rethrown.
+    private class Section {
+        private final String name;
+        private final Loader loader;
+        private volatile boolean loaded;
+        private volatile CatalogLoadException failure;
+
+        Section(String name, Loader loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        void ensureLoaded() {
+            if (loaded) {
+                return;
+            }
+            synchronized (this) {
+                if (loaded) {
+                    return;
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                long start = System.nanoTime();
+                try {
+                    if (this != source) {
+                        source.ensureLoaded();
+                    }
+                    loader.load();
+                } catch (CatalogLoadException e) {
+                    failure = e.getCatalogName().equals(name) ? e : new CatalogLoadException(name, e.getMessage(), e);
+                    throw failure;
+                } catch (IOException e) {
+                    failure = new CatalogLoadException(name, e.getMessage(), e);
+                    throw failure;
+                } catch (RuntimeException e) {
+                    failure = new CatalogLoadException(name, e.toString(), e);
+                    throw failure;
+                }
+                loadTimes.put(name, System.nanoTime() - start);
+                loaded = true;
+            }
+        }
+    }
+
+    private interface Loader {
+        void load() throws IOException;
+    }
+
+    //Loaders: from catalog.bin if it was opened, otherwise the rsrc files
+
+    //catalog.bin is memory-mapped and read in place (see CatalogFile), so every editor this user runs
+    //shares the same pages instead of each one keeping its own copy on the heap. Inside a jar it can't be
+    //mapped where it is, so it's copied out to the user's own cache folder first (see mapCachedCopy()).
+    //If mapping doesn't work out, it's read onto the heap like before
+    private void openCatalogFile() throws IOException {
+        URL url = Catalog.class.getResource("/rsrc/" + CatalogFile.FILE_NAME);
+        if (skipCatalogFile || url == null) {
+            return;
+        }
+        ByteBuffer buf = null;
+        if (url.getProtocol().equals("file")) {
+            try {
+                buf = map(Paths.get(url.toURI()));
+            } catch (URISyntaxException | IOException | RuntimeException e) {
+                buf = null;
+            }
+        }
+        if (buf == null) {
+            byte[] bytes;
+            try (InputStream in = url.openStream()) {
+                bytes = readAll(in);
+            }
+            buf = mapCachedCopy(bytes);
+            if (buf == null) {
+                buf = ByteBuffer.wrap(bytes);
+            }
+        }
+        catalogFileMapped = buf instanceof MappedByteBuffer;
+        catalogFile = CatalogFile.open(buf);
+        if (catalogFile == null) {
+            System.out.println(CatalogFile.FILE_NAME + " is out of date, reading rsrc files instead");
+        }
+    }
+
+    //Maps a copy of catalog.bin in ~/.DLSaveEditor/cache, named after its checksum so different versions don't
+    //clash and every editor running the same one maps the same file. The folder and the copy have to belong to
+    //this user with nobody else able to write them: a mapped file that someone else changes or truncates under
+    //us would change the catalog mid-edit or crash the JVM. The copy is written to a temp file and moved into
+    //place, so nothing maps a half written one. null (read it onto the heap) if any of that can't be made sure of
+    private static ByteBuffer mapCachedCopy(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        String fileName = "catalog-" + CatalogFile.VERSION + "-" + Long.toHexString(crc.getValue()) + ".bin";
+        try {
+            Path dir = privateCacheDir();
+            if (dir == null) {
+                return null;
+            }
+            Path cached = dir.resolve(fileName);
+            if (Files.isRegularFile(cached, LinkOption.NOFOLLOW_LINKS) && isPrivate(cached)
+                    && Files.size(cached) == bytes.length) {
+                MappedByteBuffer buf = map(cached);
+                if (checksum(buf) == crc.getValue()) {
+                    return buf;
+                }
+            }
+            Path temp = Files.createTempFile(dir, fileName, ".tmp"); //owner-only on POSIX
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            if (!isPrivate(cached)) {
+                return null;
+            }
+            MappedByteBuffer buf = map(cached);
+            return checksum(buf) == crc.getValue() ? buf : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    //~/.DLSaveEditor/cache, created owner-only if it isn't there. null if it (or the folder it's in)
+    //isn't a real folder that belongs to this user and only this user can write to
+    private static Path privateCacheDir() throws IOException {
+        Path parent = Paths.get(System.getProperty("user.home"), ".DLSaveEditor");
+        Path dir = parent.resolve("cache");
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            if (isPosix(dir)) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(dir);
+            }
+        }
+        for (Path path : new Path[]{parent, dir}) {
+            if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS) || !isPrivate(path)) {
+                return null;
+            }
+        }
+        return dir;
+    }
+
+    //belongs to the user running the editor, and (where the file system can tell) nobody else can write to it
+    private static boolean isPrivate(Path path) throws IOException {
+        UserPrincipal me = path.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!me.equals(Files.getOwner(path, LinkOption.NOFOLLOW_LINKS))) {
+            return false;
+        }
+        if (isPosix(path)) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS);
+            return !permissions.contains(PosixFilePermission.GROUP_WRITE) && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        }
+        return true;
+    }
+
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static long checksum(ByteBuffer buf) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.duplicate());
+        return crc.getValue();
+    }
+
+    private void loadAdventurers() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readAdventurers(idToAdventurer, nameToAdventurer);
+        } else {
+            aliases.ensureLoaded();
+            readAdventurerData();
+        }
+    }
+
+    private void loadDragons() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readDragons(idToDragon, nameToDragon);
+        } else {
+            aliases.ensureLoaded();
+            readDragonsData();
+        }
+    }
+
+    private void loadKscapeAbilities() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readKscapeAbilities(kscapeAbilityMap);
+        } else {
+            readKscapeData();
+        }
+    }
+
+    private void loadKscapeLabels() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readKscapeLabels(kscapeLabelsMap, kscapePortraitIDs);
+        } else {
+            readKscapeLabels();
+        }
+    }
+
+    private void loadStories() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readStories(adventurerStoryMap);
+        } else {
+            readStoryData();
+        }
+    }
+
+    private void loadWeaponSkins() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readWeaponSkins(idToWeaponSkinName);
+        } else {
+            readWeaponSkinData();
+        }
+    }
+
+    private void loadWeapons() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readWeapons(idToWeapon);
+        } else {
+            readWeaponsData();
+        }
+    }
+
+    private void loadPrints() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readPrints(idToPrint);
+        } else {
+            readPrintsData();
+        }
+    }
+
+    private void loadAbilities() throws IOException {
+        if (catalogFile != null) {
+            abilityIds = catalogFile.readAbilityIds();
+        } else {
+            readAbilitiesData();
+        }
+    }
+
+    private void loadFacilities() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readFacilities(idToFacility);
+            maxedFacilityBonuses = catalogFile.readMaxedFacilityBonuses();
+        } else {
+            readFacilitiesData();
+        }
+    }
+
+    private void loadMaterials() throws IOException {
+        if (catalogFile != null) {
+            catalogFile.readMaterials(idToMaterial);
+        } else {
+            readMaterialsData();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        int read;
+        while ((read = in.read(buf)) != -1) {
+            out.write(buf, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private BufferedReader getBufferedReader(String... more) throws IOException {
+        return new BufferedReader(getRsrcReader(more));
+    }
+
+    private InputStreamReader getRsrcReader(String... more) throws IOException {
+        //getResourceAsStream() doesn't like backslashes i think...?
+        //hope this doesn't break on other OS...
+        String path = (File.separator + Paths.get("rsrc", more)).replace("\\", "/");
+        InputStream in;
+        in = Catalog.class.getResourceAsStream(path);
+        if(in == null){
+            System.out.println(path);
+            in = Catalog.class.getClassLoader().getResourceAsStream(path);
+        }
+        if(in == null){
+            throw new FileNotFoundException("Could not load resource " + path);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    private JsonArray getJsonArray(String more) throws IOException {
+        JsonReader reader = new JsonReader(getRsrcReader(more));
+        return GSON.fromJson(reader, JsonArray.class);
+    }
+
+    private JsonObject getJsonObject(String more) throws IOException {
+        JsonReader reader = new JsonReader(getRsrcReader(more));
+        return GSON.fromJson(reader, JsonObject.class);
+    }
+
+    private static int getSum(JsonObject src, String... memberNames) {
+        int sum = 0;
+        for (String memberName : memberNames) {
+            sum += src.get(memberName).getAsInt();
+        }
+        return sum;
+    }
+
+    private static List<Integer> jsonArrayToList(JsonArray value){
+        ArrayList<Integer> out = new ArrayList<>();
+        for (JsonElement jsonEle : value) {
+            out.add(jsonEle.getAsInt());
+        }
+        return out;
+    }
+
+    //Reads
+    private void readAliasesData() throws IOException {
+        //Get aliases
+        BufferedReader br = getBufferedReader("adventurerAliases.txt");
+        String out = br.readLine();
+        while (out != null) {
+            String[] split = out.split(",");
+            String name = split[0].toUpperCase();
+            List<String> advAliases = new ArrayList<>();
+            for(int i = 1; i < split.length; i++){
+                advAliases.add(split[i].toUpperCase());
+            }
+            adventurerAliases.put(name, advAliases);
+            out = br.readLine();
+        }
+        br = getBufferedReader("dragonAliases.txt");
+        out = br.readLine();
+        while (out != null) {
+            String[] split = out.split(",");
+            String name = split[0].toUpperCase();
+            List<String> drgAliases = new ArrayList<>();
+            for(int i = 1; i < split.length; i++){
+                drgAliases.add(split[i].toUpperCase());
+            }
+            dragonAliases.put(name, drgAliases);
+            out = br.readLine();
+        }
+    }
+
+    private void readAdventurerData() throws IOException {
+        for (JsonElement jsonEle : getJsonArray("adventurers.json")) {
+            JsonObject adv = jsonEle.getAsJsonObject();
+            String baseName = adv.get("FullName").getAsString();
+            String name = baseName.toUpperCase();
+            if (name.equals("PUPPY")) {
+                continue; //dog check //...i should just remove this
+            }
+            //fill idToAdventurer map
+            boolean hasManaSpiral = !(adv.get("ManaSpiralDate") instanceof JsonNull);
+            int hp, str;
+            int id = adv.get("IdLong").getAsInt();
+            if (hasManaSpiral) {
+                hp = getSum(adv, "AddMaxHp1", "PlusHp0", "PlusHp1", "PlusHp2", "PlusHp3", "PlusHp4", "PlusHp5", "McFullBonusHp5");
+                str = getSum(adv, "AddMaxAtk1", "PlusAtk0", "PlusAtk1", "PlusAtk2", "PlusAtk3", "PlusAtk4", "PlusAtk5", "McFullBonusAtk5");
+            } else {
+                hp = getSum(adv, "MaxHp", "PlusHp0", "PlusHp1", "PlusHp2", "PlusHp3", "PlusHp4", "McFullBonusHp5");
+                str = getSum(adv, "MaxAtk", "PlusAtk0", "PlusAtk1", "PlusAtk2", "PlusAtk3", "PlusAtk4", "McFullBonusAtk5");
+            }
+            int maxA3Level = 1;
+            if(adv.get("Abilities32").getAsInt() != 0){
+                maxA3Level = 2;
+                if(adv.get("Abilities33").getAsInt() != 0){
+                    maxA3Level = 3;
+                }
+            }
+            String manaCircleType = adv.get("ManaCircleName").getAsString();
+            AdventurerMeta unit = new AdventurerMeta(baseName, adv.get("Title").getAsString(), id,
+                    adv.get("ElementalTypeId").getAsInt(), hp, str,adv.get("MaxLimitBreakCount").getAsInt(),
+                    adv.get("EditSkillCost").getAsInt() != 0, hasManaSpiral, maxA3Level,
+                    adv.get("MinHp3").getAsInt(), adv.get("MinHp4").getAsInt(), adv.get("MinHp5").getAsInt(),
+                    adv.get("MinAtk3").getAsInt(), adv.get("MinAtk4").getAsInt(), adv.get("MinAtk5").getAsInt(),
+                    adv.get("Rarity").getAsInt(), manaCircleType
+                    );
+            idToAdventurer.put(id, unit);
+            nameToAdventurer.put(name, unit);
+            if(adventurerAliases.containsKey(name)){
+                adventurerAliases.get(name).forEach(alias -> nameToAdventurer.put(alias.toUpperCase(), unit));
+            }
+        }
+    }
+
+    private void readDragonsData() throws IOException {
+        for (JsonElement jsonEle : getJsonArray("dragons.json")) {
+            JsonObject drg = jsonEle.getAsJsonObject();
+            String baseName = drg.get("FullName").getAsString();
+            String name = baseName.toUpperCase();
+            if (drg.get("IsPlayable").getAsInt() == 0) {
+                continue;
+            }
+            //fill idToDragon
+            boolean has5UB = drg.get("MaxLimitBreakCount").getAsInt() == 5;
+            int id = drg.get("Id").getAsInt();
+            int rarity = drg.get("Rarity").getAsInt();
+            int a1Level = has5UB ?
+                    6 : drg.get("Abilities15").getAsInt() != 0 ?
+                    5 : 0;
+            int a2Level = has5UB ?
+                    6 : drg.get("Abilities25").getAsInt() != 0 ?
+                    5 : 0;
+            boolean hasA2 = drg.get("Abilities21").getAsInt() != 0;
+            DragonMeta unit = new DragonMeta(baseName, id, drg.get("ElementalTypeId").getAsInt(),
+                a1Level, a2Level, rarity, has5UB, hasA2);
+            idToDragon.put(id, unit);
+            nameToDragon.put(name, unit);
+            if(dragonAliases.containsKey(name)){
+                dragonAliases.get(name).forEach(alias -> nameToDragon.put(alias.toUpperCase(), unit));
+            }
+        }
+    }
+
+    private void readAbilitiesData() throws IOException {
+        JsonArray abilitiesList = getJsonArray("abilities.json");
+        int[] ids = new int[abilitiesList.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = abilitiesList.get(i).getAsJsonObject().get("Id").getAsInt();
+        }
+        abilityIds = IntBuffer.wrap(ids).asReadOnlyBuffer();
+    }
+
+    private void readMaterialsData() throws IOException {
+        getJsonArray("materials.json").forEach(jsonEle -> {
+            JsonObject mat = jsonEle.getAsJsonObject();
+            String name = mat.get("Name").getAsString();
+            int id = mat.get("Id").getAsInt();
+            String category;
+            if(mat.has("Category")){
+                category = mat.get("Category").getAsString();
+            } else {
+               category = "Idk";
+            }
+            idToMaterial.put(id, new MaterialMeta(name, id, category));
+        });
+    }
+
+    private void readFacilitiesData() throws IOException {
+        IntMap<JsonObject> facilitiesMap = new IntMap<>();
+        //pull wiki facilities data
+        getJsonArray("facilities.json").forEach(jsonEle -> {
+            JsonObject facility = jsonEle.getAsJsonObject();
+            int id = facility.get("Id").getAsInt();
+            facilitiesMap.put(id, facility);
+        });
+
+        BufferedReader br = getBufferedReader("FortPlantDetail.txt");
+        br.readLine(); //ignore first line
+        String out = br.readLine();
+
+        int id = 1337;
+        int maxLevel = -1;
+        //this code sucks balls who wrote it
+        while (out != null) {
+            String[] split = out.split(",");
+            String longID = split[0]; //longID is facility ID AAAAAA + level BB
+
+            int newId = Integer.parseInt(longID.substring(0,6));
+            if(id != newId){ //starting to read thru data for next facility... assign facility max level to list
+                if(id != 1337){
+                    boolean isResourceFacility = id == 100101 || id == 100201 || id == 100301; //halidom, mine, dragontree
+                    FacilityMeta fac = new FacilityMeta(facilitiesMap.get(id).get("Name").getAsString(), id, maxLevel,
+                            isResourceFacility, facilitiesMap.get(id).get("Available").getAsInt());
+                    idToFacility.put(id, fac);
+                    maxLevel = -1;
+                }
+                id = newId;
+            }
+            maxLevel = Math.max(Integer.parseInt(split[3]), maxLevel);
+            out = br.readLine();
+        }
+
+        //get max facility bonus data
+        maxedFacilityBonuses = getJsonObject("maxedFacilityBonuses.json");
+    }
+
+    private void readWeaponsData() throws IOException {
+        for(JsonElement jsonEle : getJsonArray("weapons.json")){
+            JsonObject weaponData = jsonEle.getAsJsonObject();
+            int id = weaponData.get("Id").getAsInt();
+            List<Integer> passiveIds = jsonArrayToList(weaponData.get("PassiveAbilities").getAsJsonArray());
+            WeaponMeta weapon = new WeaponMeta(weaponData.get("Name").getAsString(), id,
+                    weaponData.get("ElementalTypeId").getAsInt(), weaponData.get("WeaponTypeId").getAsInt(),
+                    weaponData.get("WeaponSeries").getAsString(), weaponData.get("Rarity").getAsInt(),
+                    passiveIds, weaponData.get("HasWeaponBonus").getAsBoolean());
+            idToWeapon.put(id, weapon);
+        }
+    }
+
+    private void readPrintsData() throws IOException {
+        for(JsonElement jsonEle : getJsonArray("prints.json")){
+            JsonObject printData = jsonEle.getAsJsonObject();
+            int id = printData.get("Id").getAsInt();
+            WyrmprintMeta print = new WyrmprintMeta(printData.get("Name").getAsString(),
+                    id, printData.get("Rarity").getAsInt());
+            idToPrint.put(id, print);
+        }
+    }
+
+    private void readKscapeData() throws IOException {
+        JsonObject kscapeJson = getJsonObject("kscape.json");
+        for (Map.Entry<String, JsonElement> entry : kscapeJson.entrySet()) {
+            kscapeAbilityMap.put(entry.getKey(), entry.getValue().getAsInt());
+        }
+    }
+
+    private void readKscapeLabels() throws IOException {
+        BufferedReader br = getBufferedReader("kscapeLabels.txt");
+        String out = br.readLine();
+        while (out != null) {
+            String[] split1 = out.split("\t");
+            int id = Integer.parseInt(split1[0].split("_")[2]);
+            String label = split1[2];
+            kscapeLabelsMap.put(label, id);
+            kscapePortraitIDs.add(id);
+            out = br.readLine();
+        }
+    }
+
+    private void readStoryData() throws IOException {
+        for(Map.Entry<String, JsonElement> entry : getJsonObject("CharaStories.json").entrySet()){
+            int id = Integer.parseInt(entry.getKey());
+            JsonObject stories = entry.getValue().getAsJsonObject();
+            int[] storyIDs = new int[5];
+            for (int i = 0; i < 5; i++) {
+                storyIDs[i] = stories.get(Integer.toString(i)).getAsInt();
+            }
+            adventurerStoryMap.put(id, storyIDs);
+        }
+    }
+
+    private void readWeaponSkinData() throws IOException {
+        BufferedReader br = getBufferedReader("weaponSkins.txt");
+        String out = br.readLine();
+        while (out != null) {
+            String[] fields = out.split("\t");
+            int skinID = Integer.parseInt(fields[0].split("_")[3]);
+            String name = fields[2];
+            out = br.readLine();
+            idToWeaponSkinName.put(skinID, name);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+import java.io.*;
+import java.nio.file.*;
+
+//Build step (see the exec-maven-plugin in pom.xml): parses the rsrc files the slow way and writes them
+//out as rsrc/catalog.bin so the editor can skip the JSON parsing at startup.
+//
+//Usage: java CatalogCompiler <output file>
+public class CatalogCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: CatalogCompiler <output file>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        Catalog catalog = new Catalog();
+        catalog.loadFromJson();
+
+        Path out = Paths.get(args[0]);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        try (OutputStream os = Files.newOutputStream(out)) {
+            CatalogFile.write(catalog, os);
+        }
+        System.out.println("Wrote " + out + " (" + Files.size(out) / 1024 + " KB, version " + CatalogFile.VERSION + ") in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+}
@@ -0,0 +1,533 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import meta.*;
+
+//Binary form of the rsrc catalog, written at build time by CatalogCompiler so Catalog doesn't have to
+//parse ~1.3 MB of JSON/TSV on every launch.
+//
+//Layout (big-endian ints):
+//  MAGIC, VERSION, section count, then (section id, byte offset, byte length) for each section
+//  STRINGS section: count, count + 1 byte offsets into the UTF-8 data that follows, UTF-8 data
+//  every other section: record width, record count, then width * count ints. Strings are stored as
+//  indexes into the STRINGS section, and derived values (adventurer max HP/STR, facility max levels,
+//  dragon ability levels...) are stored already worked out.
+public class CatalogFile {
+
+    public static final String FILE_NAME = "catalog.bin";
+    public static final int MAGIC = 0x444C5343; //DLSC
+    //bump this whenever the layout or what goes into a record changes
+    public static final int VERSION = 1;
+
+    static final int STRINGS = 1;
+    static final int ADVENTURERS = 2;
+    static final int ADVENTURER_NAMES = 3;
+    static final int DRAGONS = 4;
+    static final int DRAGON_NAMES = 5;
+    static final int WEAPONS = 6;
+    static final int WEAPON_PASSIVES = 7;
+    static final int PRINTS = 8;
+    static final int FACILITIES = 9;
+    static final int MATERIALS = 10;
+    static final int STORIES = 11;
+    static final int WEAPON_SKINS = 12;
+    static final int KSCAPE_LABELS = 13;
+    static final int KSCAPE_ABILITIES = 14;
+    static final int ABILITIES = 15;
+    static final int FACILITY_BONUSES = 16;
+    static final int KSCAPE_PORTRAITS = 17;
+
+    //flag bits
+    static final int ADV_SKILL_SHARE = 1, ADV_MANA_SPIRAL = 2;
+    static final int DRAGON_5UB = 1, DRAGON_A2 = 2;
+    static final int WEAPON_BONUS = 1;
+    static final int FACILITY_RESOURCE = 1;
+
+    // Writing \\
+
+    public static void write(Catalog catalog, OutputStream out) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<Integer, int[]> sections = new LinkedHashMap<>();
+
+        List<int[]> records = new ArrayList<>();
+        for (AdventurerMeta adv : catalog.getIdToAdventurer().values()) {
+            records.add(new int[]{adv.getId(), str(strings, adv.getName()), str(strings, adv.getTitle()),
+                    str(strings, adv.getManaCircleType()), adv.getElementId(), adv.getMaxHp(), adv.getMaxStr(),
+                    adv.getMaxLimitBreakCount(), (adv.hasSkillShare() ? ADV_SKILL_SHARE : 0) | (adv.hasManaSpiral() ? ADV_MANA_SPIRAL : 0),
+                    adv.getMaxA3Level(), adv.getMinHp3(), adv.getMinHp4(), adv.getMinHp5(),
+                    adv.getMinStr3(), adv.getMinStr4(), adv.getMinStr5(), adv.getBaseRarity()});
+        }
+        sections.put(ADVENTURERS, flatten(17, records));
+        sections.put(ADVENTURER_NAMES, nameSection(strings, catalog.getNameToAdventurer(), AdventurerMeta::getId));
+
+        records.clear();
+        for (DragonMeta dragon : catalog.getIdToDragon().values()) {
+            records.add(new int[]{dragon.getId(), str(strings, dragon.getName()), dragon.getElementId(),
+                    dragon.getA1Max(), dragon.getA2Max(), dragon.getRarity(),
+                    (dragon.has5UB() ? DRAGON_5UB : 0) | (dragon.hasA2() ? DRAGON_A2 : 0)});
+        }
+        sections.put(DRAGONS, flatten(7, records));
+        sections.put(DRAGON_NAMES, nameSection(strings, catalog.getNameToDragon(), DragonMeta::getId));
+
+        records.clear();
+        List<Integer> passives = new ArrayList<>();
+        for (WeaponMeta weapon : catalog.getIdToWeapon().values()) {
+            List<Integer> passiveIds = weapon.getPassiveAbilityIdList();
+            records.add(new int[]{weapon.getId(), str(strings, weapon.getName()), str(strings, weapon.getWeaponSeries()),
+                    weapon.getElementId(), weapon.getWeaponTypeId(), weapon.getRarity(),
+                    weapon.hasWeaponBonus() ? WEAPON_BONUS : 0, passives.size(), passiveIds.size()});
+            passives.addAll(passiveIds);
+        }
+        sections.put(WEAPONS, flatten(9, records));
+        sections.put(WEAPON_PASSIVES, toSection(1, passives));
+
+        records.clear();
+        for (WyrmprintMeta print : catalog.getIdToPrint().values()) {
+            records.add(new int[]{print.getId(), str(strings, print.getName()), print.getRarity()});
+        }
+        sections.put(PRINTS, flatten(3, records));
+
+        records.clear();
+        for (FacilityMeta fac : catalog.getIdToFacility().values()) {
+            records.add(new int[]{fac.getId(), str(strings, fac.getName()), fac.getMaxLevel(),
+                    fac.isResourceFacility() ? FACILITY_RESOURCE : 0, fac.getMaxBuildCount()});
+        }
+        sections.put(FACILITIES, flatten(5, records));
+
+        records.clear();
+        for (MaterialMeta mat : catalog.getIdToMaterial().values()) {
+            records.add(new int[]{mat.getId(), str(strings, mat.getName()), str(strings, mat.getCategory())});
+        }
+        sections.put(MATERIALS, flatten(3, records));
+
+        records.clear();
+        catalog.getAdventurerStoryMap().forEach((id, storyIDs) ->
+                records.add(new int[]{id, storyIDs[0], storyIDs[1], storyIDs[2], storyIDs[3], storyIDs[4]}));
+        sections.put(STORIES, flatten(6, records));
+
+        records.clear();
+        catalog.getIdToWeaponSkinName().forEach((id, name) -> records.add(new int[]{id, str(strings, name)}));
+        sections.put(WEAPON_SKINS, flatten(2, records));
+
+        records.clear();
+        for (Map.Entry<String, Integer> entry : catalog.getKscapeLabelsMap().entrySet()) {
+            records.add(new int[]{str(strings, entry.getKey()), entry.getValue()});
+        }
+        sections.put(KSCAPE_LABELS, flatten(2, records));
+        //portrait IDs keep their file order (kscapeRandomizer picks from them by index)
+        sections.put(KSCAPE_PORTRAITS, toSection(1, catalog.getKscapePortraitIDs()));
+
+        records.clear();
+        for (Map.Entry<String, Integer> entry : catalog.getKscapeAbilityMap().entrySet()) {
+            records.add(new int[]{str(strings, entry.getKey()), entry.getValue()});
+        }
+        sections.put(KSCAPE_ABILITIES, flatten(2, records));
+
+        IntBuffer abilityIdBuffer = catalog.getAbilityIds();
+        int[] abilityIds = new int[abilityIdBuffer.remaining()];
+        abilityIdBuffer.get(abilityIds);
+        sections.put(ABILITIES, toSection(1, abilityIds));
+        sections.put(FACILITY_BONUSES, new int[]{1, 1, str(strings, catalog.getMaxedFacilityBonusesJson())});
+
+        //encode
+        List<Integer> ids = new ArrayList<>();
+        List<byte[]> payloads = new ArrayList<>();
+        ids.add(STRINGS);
+        payloads.add(encodeStrings(strings.keySet()));
+        for (Map.Entry<Integer, int[]> entry : sections.entrySet()) {
+            ids.add(entry.getKey());
+            payloads.add(encodeInts(entry.getValue()));
+        }
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(ids.size());
+        int offset = 12 + ids.size() * 12;
+        for (int i = 0; i < ids.size(); i++) {
+            data.writeInt(ids.get(i));
+            data.writeInt(offset);
+            data.writeInt(payloads.get(i).length);
+            offset += payloads.get(i).length;
+        }
+        for (byte[] payload : payloads) {
+            data.write(payload);
+        }
+        data.flush();
+    }
+
+    private static int str(Map<String, Integer> strings, String value) {
+        return strings.computeIfAbsent(value, key -> strings.size());
+    }
+
+    private static <T> int[] nameSection(Map<String, Integer> strings, Map<String, T> nameMap, java.util.function.ToIntFunction<T> getId) {
+        List<int[]> records = new ArrayList<>();
+        nameMap.forEach((name, meta) -> records.add(new int[]{str(strings, name), getId.applyAsInt(meta)}));
+        return flatten(2, records);
+    }
+
+    private static int[] flatten(int width, List<int[]> records) {
+        int[] out = new int[2 + width * records.size()];
+        out[0] = width;
+        out[1] = records.size();
+        for (int i = 0; i < records.size(); i++) {
+            System.arraycopy(records.get(i), 0, out, 2 + i * width, width);
+        }
+        return out;
+    }
+
+    private static int[] toSection(int width, List<Integer> values) {
+        int[] out = new int[2 + values.size()];
+        out[0] = width;
+        out[1] = values.size() / width;
+        for (int i = 0; i < values.size(); i++) {
+            out[2 + i] = values.get(i);
+        }
+        return out;
+    }
+
+    private static int[] toSection(int width, int[] values) {
+        int[] out = new int[2 + values.length];
+        out[0] = width;
+        out[1] = values.length / width;
+        System.arraycopy(values, 0, out, 2, values.length);
+        return out;
+    }
+
+    private static byte[] encodeInts(int[] values) {
+        ByteBuffer buf = ByteBuffer.allocate(values.length * 4);
+        buf.asIntBuffer().put(values);
+        return buf.array();
+    }
+
+    private static byte[] encodeStrings(Collection<String> strings) throws IOException {
+        ByteArrayOutputStream utf8 = new ByteArrayOutputStream();
+        int[] offsets = new int[strings.size() + 1];
+        int i = 0;
+        for (String value : strings) {
+            offsets[i++] = utf8.size();
+            utf8.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        offsets[i] = utf8.size();
+        ByteBuffer buf = ByteBuffer.allocate(4 + offsets.length * 4 + utf8.size());
+        buf.putInt(strings.size());
+        for (int offset : offsets) {
+            buf.putInt(offset);
+        }
+        buf.put(utf8.toByteArray());
+        return buf.array();
+    }
+
+    // Reading \\
+
+    private final Map<Integer, ByteBuffer> sections = new HashMap<>();
+    //the STRINGS section, strings are decoded when something asks for them instead of all up front
+    private final ByteBuffer strings;
+    private final int stringDataStart;
+    //each string once it's been decoded, by its index in STRINGS. Equal strings share an index, so getters
+    //hand out the same String every time (and the same one for e.g. every weapon in a series)
+    private final String[] decoded;
+
+    private CatalogFile(ByteBuffer buf) {
+        int sectionCount = buf.getInt(8);
+        for (int i = 0; i < sectionCount; i++) {
+            int base = 12 + i * 12;
+            ByteBuffer section = buf.duplicate();
+            section.position(buf.getInt(base + 4));
+            section.limit(buf.getInt(base + 4) + buf.getInt(base + 8));
+            sections.put(buf.getInt(base), section.slice());
+        }
+        strings = sections.get(STRINGS);
+        stringDataStart = 4 + (strings.getInt(0) + 1) * 4;
+        decoded = new String[strings.getInt(0)];
+    }
+
+    //returns null if buf isn't a catalog file of this VERSION.
+    //buf can be memory-mapped (see Catalog): records are read where they are, nothing is copied out up front
+    public static CatalogFile open(ByteBuffer buf) {
+        if (buf.remaining() < 12 || buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+            return null;
+        }
+        return new CatalogFile(buf);
+    }
+
+    //Each section is read on its own (Catalog only asks for the ones a run uses).
+    //Reads only use absolute gets, so different sections can be read from different threads.
+    //Adventurers, dragons, weapons, wyrmprints, facilities and materials come out as flyweights (see below),
+    //only the name lookups are copied onto the heap.
+
+    public void readAdventurers(IntMap<AdventurerMeta> idToAdventurer, Map<String, AdventurerMeta> nameToAdventurer) {
+        Section adventurers = section(ADVENTURERS);
+        for (int i = 0; i < adventurers.count; i++) {
+            idToAdventurer.put(adventurers.get(i, 0), new FileAdventurer(adventurers, i));
+        }
+        Section names = section(ADVENTURER_NAMES);
+        for (int i = 0; i < names.count; i++) {
+            nameToAdventurer.put(string(names.get(i, 0)), idToAdventurer.get(names.get(i, 1)));
+        }
+    }
+
+    public void readDragons(IntMap<DragonMeta> idToDragon, Map<String, DragonMeta> nameToDragon) {
+        Section dragons = section(DRAGONS);
+        for (int i = 0; i < dragons.count; i++) {
+            idToDragon.put(dragons.get(i, 0), new FileDragon(dragons, i));
+        }
+        Section names = section(DRAGON_NAMES);
+        for (int i = 0; i < names.count; i++) {
+            nameToDragon.put(string(names.get(i, 0)), idToDragon.get(names.get(i, 1)));
+        }
+    }
+
+    public void readWeapons(IntMap<WeaponMeta> idToWeapon) {
+        Section weapons = section(WEAPONS);
+        Section passives = section(WEAPON_PASSIVES);
+        for (int i = 0; i < weapons.count; i++) {
+            idToWeapon.put(weapons.get(i, 0), new FileWeapon(weapons, passives, i));
+        }
+    }
+
+    public void readPrints(IntMap<WyrmprintMeta> idToPrint) {
+        Section prints = section(PRINTS);
+        for (int i = 0; i < prints.count; i++) {
+            idToPrint.put(prints.get(i, 0), new FilePrint(prints, i));
+        }
+    }
+
+    public void readFacilities(IntMap<FacilityMeta> idToFacility) {
+        Section facilities = section(FACILITIES);
+        for (int i = 0; i < facilities.count; i++) {
+            idToFacility.put(facilities.get(i, 0), new FileFacility(facilities, i));
+        }
+    }
+
+    public JsonObject readMaxedFacilityBonuses() {
+        return new JsonParser().parse(string(section(FACILITY_BONUSES).get(0, 0))).getAsJsonObject();
+    }
+
+    public void readMaterials(IntMap<MaterialMeta> idToMaterial) {
+        Section materials = section(MATERIALS);
+        for (int i = 0; i < materials.count; i++) {
+            idToMaterial.put(materials.get(i, 0), new FileMaterial(materials, i));
+        }
+    }
+
+    public void readStories(IntMap<int[]> adventurerStoryMap) {
+        Section stories = section(STORIES);
+        for (int i = 0; i < stories.count; i++) {
+            adventurerStoryMap.put(stories.get(i, 0), new int[]{stories.get(i, 1), stories.get(i, 2),
+                    stories.get(i, 3), stories.get(i, 4), stories.get(i, 5)});
+        }
+    }
+
+    public void readWeaponSkins(IntMap<String> idToWeaponSkinName) {
+        Section skins = section(WEAPON_SKINS);
+        for (int i = 0; i < skins.count; i++) {
+            idToWeaponSkinName.put(skins.get(i, 0), string(skins.get(i, 1)));
+        }
+    }
+
+    public void readKscapeLabels(Map<String, Integer> kscapeLabelsMap, List<Integer> kscapePortraitIDs) {
+        Section labels = section(KSCAPE_LABELS);
+        for (int i = 0; i < labels.count; i++) {
+            kscapeLabelsMap.put(string(labels.get(i, 0)), labels.get(i, 1));
+        }
+        Section portraits = section(KSCAPE_PORTRAITS);
+        for (int i = 0; i < portraits.count; i++) {
+            kscapePortraitIDs.add(portraits.get(i, 0));
+        }
+    }
+
+    public void readKscapeAbilities(Map<String, Integer> kscapeAbilityMap) {
+        Section kscapeAbilities = section(KSCAPE_ABILITIES);
+        for (int i = 0; i < kscapeAbilities.count; i++) {
+            kscapeAbilityMap.put(string(kscapeAbilities.get(i, 0)), kscapeAbilities.get(i, 1));
+        }
+    }
+
+    //a read-only view of the IDs in the file, not a copy
+    public IntBuffer readAbilityIds() {
+        ByteBuffer abilities = sections.get(ABILITIES).duplicate();
+        abilities.position(8); //width, count
+        return abilities.slice().asIntBuffer().asReadOnlyBuffer();
+    }
+
+    private Section section(int id) {
+        return new Section(sections.get(id));
+    }
+
+    //Two threads decoding the same string at once both store an equal String, which is harmless
+    private String string(int index) {
+        String value = decoded[index];
+        if (value != null) {
+            return value;
+        }
+        int start = stringDataStart + strings.getInt(4 + index * 4);
+        byte[] utf8 = new byte[stringDataStart + strings.getInt(8 + index * 4) - start];
+        for (int i = 0; i < utf8.length; i++) {
+            utf8[i] = strings.get(start + i);
+        }
+        value = new String(utf8, StandardCharsets.UTF_8);
+        decoded[index] = value;
+        return value;
+    }
+
+    //fixed width int records
+    private static class Section {
+        private final ByteBuffer buf;
+        private final int width;
+        private final int count;
+
+        Section(ByteBuffer buf) {
+            this.buf = buf;
+            this.width = buf.getInt(0);
+            this.count = buf.getInt(4);
+        }
+
+        int get(int record, int field) {
+            return buf.getInt(8 + (record * width + field) * 4);
+        }
+    }
+
+    // Flyweights \\
+    //One per record, holding nothing but where the record is. Every getter reads the record from the file,
+    //so the catalog data itself stays in the (mapped) file instead of being copied onto the heap.
+    //Strings are decoded the first time they're asked for and kept after that (see string()).
+
+    private class FileAdventurer extends AdventurerMeta {
+        private final Section section;
+        private final int record;
+
+        FileAdventurer(Section section, int record) {
+            this.section = section;
+            this.record = record;
+        }
+
+        @Override public String getName(){ return string(section.get(record, 1)); }
+        @Override public String getTitle(){ return string(section.get(record, 2)); }
+        @Override public int getId(){ return section.get(record, 0); }
+        @Override public int getElementId(){ return section.get(record, 4); }
+        @Override public int getMaxHp(){ return section.get(record, 5); }
+        @Override public int getMaxStr(){ return section.get(record, 6); }
+        @Override public int getMaxLimitBreakCount(){ return section.get(record, 7); }
+        @Override public boolean hasSkillShare(){ return (section.get(record, 8) & ADV_SKILL_SHARE) != 0; }
+        @Override public boolean hasManaSpiral(){ return (section.get(record, 8) & ADV_MANA_SPIRAL) != 0; }
+        @Override public int getMaxA3Level(){ return section.get(record, 9); }
+        @Override public int getBaseRarity(){ return section.get(record, 16); }
+        @Override public String getManaCircleType(){ return string(section.get(record, 3)); }
+        @Override public int getMinHp3(){ return section.get(record, 10); }
+        @Override public int getMinHp4(){ return section.get(record, 11); }
+        @Override public int getMinHp5(){ return section.get(record, 12); }
+        @Override public int getMinStr3(){ return section.get(record, 13); }
+        @Override public int getMinStr4(){ return section.get(record, 14); }
+        @Override public int getMinStr5(){ return section.get(record, 15); }
+    }
+
+    private class FileDragon extends DragonMeta {
+        private final Section section;
+        private final int record;
+
+        FileDragon(Section section, int record) {
+            this.section = section;
+            this.record = record;
+        }
+
+        @Override public String getName(){ return string(section.get(record, 1)); }
+        @Override public int getId(){ return section.get(record, 0); }
+        @Override public int getElementId(){ return section.get(record, 2); }
+        @Override public int getA1Max(){ return section.get(record, 3); }
+        @Override public int getA2Max(){ return section.get(record, 4); }
+        @Override public int getRarity(){ return section.get(record, 5); }
+        @Override public boolean has5UB(){ return (section.get(record, 6) & DRAGON_5UB) != 0; }
+        @Override public boolean hasA2(){ return (section.get(record, 6) & DRAGON_A2) != 0; }
+    }
+
+    private class FileWeapon extends WeaponMeta {
+        private final Section section;
+        private final Section passives;
+        private final int record;
+
+        FileWeapon(Section section, Section passives, int record) {
+            this.section = section;
+            this.passives = passives;
+            this.record = record;
+        }
+
+        @Override public String getName(){ return string(section.get(record, 1)); }
+        @Override public int getId(){ return section.get(record, 0); }
+        @Override public int getElementId(){ return section.get(record, 3); }
+        @Override public int getWeaponTypeId(){ return section.get(record, 4); }
+        @Override public String getWeaponSeries(){ return string(section.get(record, 2)); }
+        @Override public int getRarity(){ return section.get(record, 5); }
+        @Override public boolean hasWeaponBonus(){ return (section.get(record, 6) & WEAPON_BONUS) != 0; }
+
+        //read-only view of this weapon's slice of the WEAPON_PASSIVES section
+        @Override
+        public List<Integer> getPassiveAbilityIdList() {
+            int start = section.get(record, 7);
+            int count = section.get(record, 8);
+            return new AbstractList<Integer>() {
+                @Override
+                public Integer get(int index) {
+                    if (index < 0 || index >= count) {
+                        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+                    }
+                    return passives.get(start + index, 0);
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+    }
+
+    private class FilePrint extends WyrmprintMeta {
+        private final Section section;
+        private final int record;
+
+        FilePrint(Section section, int record) {
+            this.section = section;
+            this.record = record;
+        }
+
+        @Override public String getName(){ return string(section.get(record, 1)); }
+        @Override public int getId(){ return section.get(record, 0); }
+        @Override public int getRarity(){ return section.get(record, 2); }
+    }
+
+    private class FileFacility extends FacilityMeta {
+        private final Section section;
+        private final int record;
+
+        FileFacility(Section section, int record) {
+            this.section = section;
+            this.record = record;
+        }
+
+        @Override public String getName(){ return string(section.get(record, 1)); }
+        @Override public int getId(){ return section.get(record, 0); }
+        @Override public int getMaxLevel(){ return section.get(record, 2); }
+        @Override public boolean isResourceFacility(){ return (section.get(record, 3) & FACILITY_RESOURCE) != 0; }
+        @Override public int getMaxBuildCount(){ return section.get(record, 4); }
+    }
+
+    private class FileMaterial extends MaterialMeta {
+        private final Section section;
+        private final int record;
+
+        FileMaterial(Section section, int record) {
+            this.section = section;
+            this.record = record;
+        }
+
+        @Override public String getName(){ return string(section.get(record, 1)); }
+        @Override public int getId(){ return section.get(record, 0); }
+        @Override public String getCategory(){ return string(section.get(record, 2)); }
+    }
+
+}
@@ -0,0 +1,57 @@
+import java.util.*;
+
+//Which adventurers/dragons/weapons/wyrmprints a filtered edit (addMissingDragons(filter), maxWeapons(filter)...) applies to.
+//Every field that's set has to match, so new CatalogFilter() matches everything.
+//e.g. new CatalogFilter().element(1).rarity(5) --> 5* flame, new CatalogFilter().weaponSeries("Agito")
+public class CatalogFilter {
+
+    public static final String ELEMENT = "element";
+    public static final String RARITY = "rarity";
+    public static final String WEAPON_TYPE = "weapon type";
+    public static final String WEAPON_SERIES = "weapon series";
+    public static final String MANA_SPIRAL = "mana spiral";
+
+    //field --> value it has to have
+    private final Map<String, Object> criteria = new LinkedHashMap<>();
+
+    public CatalogFilter element(int elementId) {
+        criteria.put(ELEMENT, elementId);
+        return this;
+    }
+
+    //base rarity for adventurers
+    public CatalogFilter rarity(int rarity) {
+        criteria.put(RARITY, rarity);
+        return this;
+    }
+
+    public CatalogFilter weaponType(int weaponTypeId) {
+        criteria.put(WEAPON_TYPE, weaponTypeId);
+        return this;
+    }
+
+    public CatalogFilter weaponSeries(String weaponSeries) {
+        criteria.put(WEAPON_SERIES, weaponSeries);
+        return this;
+    }
+
+    public CatalogFilter manaSpiral(boolean hasManaSpiral) {
+        criteria.put(MANA_SPIRAL, hasManaSpiral);
+        return this;
+    }
+
+    public Map<String, Object> getCriteria() {
+        return Collections.unmodifiableMap(criteria);
+    }
+
+    @Override
+    public String toString() {
+        if (criteria.isEmpty()) {
+            return "everything";
+        }
+        List<String> out = new ArrayList<>();
+        criteria.forEach((field, value) -> out.add(field + " " + value));
+        return String.join(", ", out);
+    }
+
+}
@@ -0,0 +1,115 @@
+import java.util.*;
+import java.util.function.Function;
+
+import meta.*;
+
+//Secondary indexes over one of the meta catalogs: for each value of a few fields (element, rarity...),
+//the sorted IDs that have it. find() intersects the lists for whatever a CatalogFilter asks for, starting
+//from the shortest one, so a selective filter costs about as much as what it matches, not the whole catalog.
+//Built once per catalog (see Catalog) and only read after that, so it's shared by every save.
+public class CatalogIndex<T> {
+
+    private final IntMap<T> idToMeta;
+    private final int[] allIds;
+    //field --> value --> sorted IDs
+    private final Map<String, Map<Object, int[]>> postings = new HashMap<>();
+
+    private CatalogIndex(IntMap<T> idToMeta) {
+        this.idToMeta = idToMeta;
+        allIds = idToMeta.keys();
+        Arrays.sort(allIds);
+    }
+
+    public static CatalogIndex<AdventurerMeta> ofAdventurers(IntMap<AdventurerMeta> idToAdventurer) {
+        CatalogIndex<AdventurerMeta> out = new CatalogIndex<>(idToAdventurer);
+        out.addField(CatalogFilter.ELEMENT, AdventurerMeta::getElementId);
+        out.addField(CatalogFilter.RARITY, AdventurerMeta::getBaseRarity);
+        out.addField(CatalogFilter.MANA_SPIRAL, AdventurerMeta::hasManaSpiral);
+        return out;
+    }
+
+    public static CatalogIndex<DragonMeta> ofDragons(IntMap<DragonMeta> idToDragon) {
+        CatalogIndex<DragonMeta> out = new CatalogIndex<>(idToDragon);
+        out.addField(CatalogFilter.ELEMENT, DragonMeta::getElementId);
+        out.addField(CatalogFilter.RARITY, DragonMeta::getRarity);
+        return out;
+    }
+
+    public static CatalogIndex<WeaponMeta> ofWeapons(IntMap<WeaponMeta> idToWeapon) {
+        CatalogIndex<WeaponMeta> out = new CatalogIndex<>(idToWeapon);
+        out.addField(CatalogFilter.ELEMENT, WeaponMeta::getElementId);
+        out.addField(CatalogFilter.RARITY, WeaponMeta::getRarity);
+        out.addField(CatalogFilter.WEAPON_TYPE, WeaponMeta::getWeaponTypeId);
+        out.addField(CatalogFilter.WEAPON_SERIES, WeaponMeta::getWeaponSeries);
+        return out;
+    }
+
+    public static CatalogIndex<WyrmprintMeta> ofPrints(IntMap<WyrmprintMeta> idToPrint) {
+        CatalogIndex<WyrmprintMeta> out = new CatalogIndex<>(idToPrint);
+        out.addField(CatalogFilter.RARITY, WyrmprintMeta::getRarity);
+        return out;
+    }
+
+    private void addField(String field, Function<T, Object> getter) {
+        Map<Object, List<Integer>> byValue = new HashMap<>();
+        for (int id : allIds) {
+            byValue.computeIfAbsent(getter.apply(idToMeta.get(id)), k -> new ArrayList<>()).add(id);
+        }
+        Map<Object, int[]> out = new HashMap<>();
+        byValue.forEach((value, ids) -> out.put(value, toSortedArray(ids)));
+        postings.put(field, out);
+    }
+
+    //IDs of everything that matches, sorted
+    public int[] findIds(CatalogFilter filter) {
+        List<int[]> lists = new ArrayList<>();
+        for (Map.Entry<String, Object> criterion : filter.getCriteria().entrySet()) {
+            Map<Object, int[]> byValue = postings.get(criterion.getKey());
+            if (byValue == null) {
+                throw new IllegalArgumentException("Can't filter this catalog by " + criterion.getKey());
+            }
+            int[] ids = byValue.get(criterion.getValue());
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+        if (lists.isEmpty()) {
+            return allIds.clone();
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        int[] out = lists.get(0).clone();
+        int size = out.length;
+        for (int i = 1; i < lists.size() && size != 0; i++) {
+            int[] other = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (Arrays.binarySearch(other, out[j]) >= 0) {
+                    out[kept++] = out[j];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    //metas of everything that matches, in ID order
+    public List<T> find(CatalogFilter filter) {
+        List<T> out = new ArrayList<>();
+        for (int id : findIds(filter)) {
+            out.add(idToMeta.get(id));
+        }
+        return out;
+    }
+
+    private static int[] toSortedArray(Collection<Integer> ids) {
+        int[] out = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) {
+            out[i++] = id;
+        }
+        Arrays.sort(out);
+        return out;
+    }
+
+}
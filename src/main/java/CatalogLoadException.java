@@ -0,0 +1,16 @@
+//Thrown when one of the rsrc catalogs can't be read (missing or broken resource).
+//Catalogs are read from worker threads, so this is handed back to whoever asked instead of exiting from there.
+public class CatalogLoadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String catalogName;
+
+    public CatalogLoadException(String catalogName, String message, Throwable cause) {
+        super("Unable to read the " + catalogName + " catalog: " + message, cause);
+        this.catalogName = catalogName;
+    }
+
+    public String getCatalogName() { return catalogName; }
+
+}
@@ -0,0 +1,154 @@
+import java.util.*;
+
+import com.google.gson.*;
+
+//Fixes entries with duplicate IDs/key IDs in the save's lists, keeping the first one as it is.
+//Saves downloaded from private servers sometimes have these (crafting things there after editing them in),
+//and the game doesn't like it. Each list is checked in a single pass.
+//In ID lists a dupe is the same thing owned twice, so it's removed. In key ID lists it's a different
+//dragon/kscape/facility/ticket that happens to share a key (older versions of this editor gave every
+//decoration it added the same build_id), so it's kept and given a new key instead.
+public class DupeRepair {
+
+    //{list name, ID field, what to call it when reporting}. Dupes are removed
+    private static final String[][] ID_LISTS = {
+            {"chara_list", "chara_id", "adventurer ID"},
+            {"ability_crest_list", "ability_crest_id", "wyrmprint ID"},
+            {"weapon_skin_list", "weapon_skin_id", "weapon skin ID"},
+    };
+
+    //{list name, key ID field, what to call it when reporting}. Dupes get new keys
+    private static final String[][] KEY_LISTS = {
+            {"dragon_list", "dragon_key_id", "dragon key ID"},
+            {"talisman_list", "talisman_key_id", "kscape key ID"},
+            {"build_list", "build_id", "facility build ID"},
+            {"summon_ticket_list", "key_id", "summon ticket key ID"},
+    };
+
+    //Returns what was removed/re-keyed. Lists the save doesn't have are skipped.
+    //New keys come from index's KeyAllocators. The re-keyed entries are changed in place,
+    //so the caller has to invalidate() those lists in index afterwards
+    public static Report repair(JsonObject saveData, SaveIndex index) {
+        Report report = new Report();
+        JsonObject data = saveData.getAsJsonObject("data");
+        if (data == null) {
+            return report;
+        }
+        for (String[] list : ID_LISTS) {
+            if (data.has(list[0])) {
+                int removed = compact(data.getAsJsonArray(list[0]), list[1]);
+                if (removed != 0) {
+                    report.removed.put(list[0], removed);
+                    report.labels.put(list[0], list[2]);
+                }
+            }
+        }
+        for (String[] list : KEY_LISTS) {
+            if (data.has(list[0])) {
+                int rekeyed = rekey(data.getAsJsonArray(list[0]), list[1], index.getKeyAllocator(list[0]));
+                if (rekeyed != 0) {
+                    report.rekeyed.put(list[0], rekeyed);
+                    report.labels.put(list[0], list[2]);
+                }
+            }
+        }
+        return report;
+    }
+
+    //moves every first-seen entry down over the dupes, then cuts off the tail. Returns how many were removed
+    private static int compact(JsonArray array, String field) {
+        IntSet seen = new IntSet(array.size());
+        int kept = 0;
+        for (int i = 0; i < array.size(); i++) {
+            JsonElement jsonEle = array.get(i);
+            if (seen.add(jsonEle.getAsJsonObject().get(field).getAsInt())) {
+                if (kept != i) {
+                    array.set(kept, jsonEle);
+                }
+                kept++;
+            }
+        }
+        int removed = array.size() - kept;
+        for (int i = array.size() - 1; i >= kept; i--) {
+            array.remove(i); //from the end, so nothing gets shifted
+        }
+        return removed;
+    }
+
+    //gives every entry after the first with a key a new one. Returns how many were re-keyed
+    private static int rekey(JsonArray array, String field, KeyAllocator keys) {
+        IntSet seen = new IntSet(array.size());
+        int rekeyed = 0;
+        for (JsonElement jsonEle : array) {
+            JsonObject entry = jsonEle.getAsJsonObject();
+            if (!seen.add(entry.get(field).getAsInt())) {
+                //next() is above every key in the list, so it can't clash with one further on
+                entry.addProperty(field, keys.next());
+                rekeyed++;
+            }
+        }
+        return rekeyed;
+    }
+
+    public static class Report {
+        //list name --> entries removed/re-keyed, only lists that had dupes
+        private final Map<String, Integer> removed = new LinkedHashMap<>();
+        private final Map<String, Integer> rekeyed = new LinkedHashMap<>();
+        private final Map<String, String> labels = new HashMap<>();
+
+        public boolean isClean() {
+            return removed.isEmpty() && rekeyed.isEmpty();
+        }
+
+        //adds other's counts to these, for saves that are repaired a list at a time (SaveStreamer)
+        public void add(Report other) {
+            other.removed.forEach((listName, count) -> removed.merge(listName, count, Integer::sum));
+            other.rekeyed.forEach((listName, count) -> rekeyed.merge(listName, count, Integer::sum));
+            labels.putAll(other.labels);
+        }
+
+        public int getRemovedCount(String listName) {
+            return removed.getOrDefault(listName, 0);
+        }
+
+        public int getRekeyedCount(String listName) {
+            return rekeyed.getOrDefault(listName, 0);
+        }
+
+        public int getTotalRemoved() {
+            return total(removed);
+        }
+
+        public int getTotalRekeyed() {
+            return total(rekeyed);
+        }
+
+        public Set<String> getRepairedLists() {
+            Set<String> out = new LinkedHashSet<>(removed.keySet());
+            out.addAll(rekeyed.keySet());
+            return Collections.unmodifiableSet(out);
+        }
+
+        //e.g. "Duplicate adventurer ID count: 2 (removed)", "Duplicate dragon key ID count: 3 (re-keyed)"
+        public List<String> getLines() {
+            List<String> out = new ArrayList<>();
+            removed.forEach((listName, count) -> out.add("Duplicate " + labels.get(listName) + " count: " + count + " (removed)"));
+            rekeyed.forEach((listName, count) -> out.add("Duplicate " + labels.get(listName) + " count: " + count + " (re-keyed)"));
+            return out;
+        }
+
+        private static int total(Map<String, Integer> counts) {
+            int total = 0;
+            for (int count : counts.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return isClean() ? "No dupe IDs" : String.join(", ", getLines());
+        }
+    }
+
+}
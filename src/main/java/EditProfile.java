@@ -0,0 +1,130 @@
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+//Answers to the SaveEditor prompts, read from a file so saves can be edited without anyone at the keyboard.
+//Same format as the options file: one 'name:true' or 'name:false' per line. Lines starting with '#' are ignored.
+public class EditProfile {
+
+    //edits in the same order SaveEditor asks about them
+    private static final LinkedHashMap<String, Consumer<JsonUtils>> EDITS = new LinkedHashMap<>();
+    static {
+        EDITS.put("uncapMana", JsonUtils::uncapMana);
+        EDITS.put("setRupies", JsonUtils::setRupies);
+        EDITS.put("plunderDonkay", JsonUtils::plunderDonkay);
+        EDITS.put("battleOnTheByroad", JsonUtils::battleOnTheByroad);
+        EDITS.put("setAdventurerVisibleFlags", JsonUtils::setAdventurerVisibleFlags);
+        EDITS.put("maxAdventurers", JsonUtils::maxAdventurers);
+        EDITS.put("maxDragons", JsonUtils::maxDragons);
+        EDITS.put("maxWeapons", JsonUtils::maxWeapons);
+        EDITS.put("maxWyrmprints", JsonUtils::maxWyrmprints);
+        //same as the addMissing ones + addItems below, just faster. Anything it already added, they skip
+        EDITS.put("completeCollection", util -> util.completeCollection(true));
+        EDITS.put("addMissingAdventurers", JsonUtils::addMissingAdventurers);
+        EDITS.put("addMissingDragons", util -> util.addMissingDragons(true));
+        EDITS.put("addMissingLowRarityDragons", util -> util.addMissingDragons(false));
+        EDITS.put("addMissingWeapons", JsonUtils::addMissingWeapons);
+        EDITS.put("addMissingWyrmprints", JsonUtils::addMissingWyrmprints);
+        EDITS.put("addItems", JsonUtils::addItems);
+        EDITS.put("backToTheMines", JsonUtils::backToTheMines);
+        EDITS.put("addMissingWeaponSkins", JsonUtils::addMissingWeaponSkins);
+        EDITS.put("maxFacilities", JsonUtils::maxFacilities);
+        //hacked options
+        EDITS.put("kscapeRandomizer", JsonUtils::kscapeRandomizer);
+        EDITS.put("addGoofyKscapes", JsonUtils::addGoofyKscapes);
+        EDITS.put("addTutorialZethia", JsonUtils::addTutorialZethia);
+        EDITS.put("addStoryLeifs", JsonUtils::addStoryLeifs);
+        EDITS.put("addGunnerCleo", JsonUtils::addGunnerCleo);
+        EDITS.put("addUniqueShapeshiftDragons", JsonUtils::addUniqueShapeshiftDragons);
+    }
+
+    //edits that stay within one list at a time, so they can run on a SaveStreamer instead of the whole tree
+    private static final HashMap<String, Consumer<SaveStreamer>> STREAMED_EDITS = new HashMap<>();
+    static {
+        STREAMED_EDITS.put("uncapMana", streamer -> streamer.edit("user_data", JsonUtils::uncapMana));
+        STREAMED_EDITS.put("setRupies", streamer -> streamer.edit("user_data", JsonUtils::setRupies));
+        STREAMED_EDITS.put("plunderDonkay", streamer -> {
+            streamer.edit("user_data", JsonUtils::setWyrmites);
+            streamer.edit("summon_ticket_list", JsonUtils::plunderSummonTickets);
+        });
+        STREAMED_EDITS.put("battleOnTheByroad", streamer -> streamer.edit("user_data", JsonUtils::battleOnTheByroad));
+        STREAMED_EDITS.put("setAdventurerVisibleFlags", streamer -> streamer.edit("chara_list", JsonUtils::setAdventurerVisibleFlags));
+        STREAMED_EDITS.put("maxWyrmprints", streamer -> streamer.edit("ability_crest_list", JsonUtils::maxWyrmprints));
+        STREAMED_EDITS.put("addMissingWyrmprints", streamer -> streamer.edit("ability_crest_list", JsonUtils::addMissingWyrmprints));
+        STREAMED_EDITS.put("addItems", streamer -> {
+            streamer.edit("material_list", JsonUtils::addMaterials);
+            streamer.replace("dragon_gift_list", JsonUtils::addDragonGifts);
+        });
+        STREAMED_EDITS.put("addMissingWeaponSkins", streamer -> streamer.edit("weapon_skin_list", JsonUtils::addMissingWeaponSkins));
+        STREAMED_EDITS.put("addGoofyKscapes", streamer -> streamer.edit("talisman_list", JsonUtils::addGoofyKscapes));
+        //backToTheMines and kscapeRandomizer aren't here: re-equipping parties needs talisman_list and party_list together
+    }
+
+    private final Set<String> enabledEdits = new HashSet<>();
+    private final Options options = new Options();
+
+    public EditProfile(String profilePath) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(profilePath))) {
+            String out = br.readLine();
+            int lineNumber = 1;
+            while (out != null) {
+                String line = out.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    String[] split = line.split(":");
+                    if (split.length != 2 || !(split[1].equals("true") || split[1].equals("false"))) {
+                        throw new IOException("Could not parse line " + lineNumber + " of edit profile: '" + out + "'");
+                    }
+                    String name = split[0];
+                    boolean value = Boolean.parseBoolean(split[1]);
+                    if (EDITS.containsKey(name)) {
+                        if (value) {
+                            enabledEdits.add(name);
+                        }
+                    } else if (!options.editOption(name, value)) { //not an edit... maybe it's an option
+                        throw new IOException("Unknown edit or option '" + name + "' on line " + lineNumber + " of edit profile");
+                    }
+                }
+                out = br.readLine();
+                lineNumber++;
+            }
+        }
+        if (enabledEdits.contains("addMissingDragons") && enabledEdits.contains("addMissingLowRarityDragons")) {
+            enabledEdits.remove("addMissingDragons"); //the low rarity one already adds everything
+        }
+    }
+
+    public Options getOptions() { return options; }
+
+    public void apply(JsonUtils util) {
+        for (Map.Entry<String, Consumer<JsonUtils>> entry : EDITS.entrySet()) {
+            if (enabledEdits.contains(entry.getKey())) {
+                entry.getValue().accept(util);
+            }
+        }
+    }
+
+    public boolean isStreamable() {
+        return STREAMED_EDITS.keySet().containsAll(enabledEdits);
+    }
+
+    public SaveStreamer newStreamer(Catalog catalog) {
+        SaveStreamer streamer = new SaveStreamer(catalog, options);
+        for (String name : EDITS.keySet()) {
+            if (enabledEdits.contains(name)) {
+                STREAMED_EDITS.get(name).accept(streamer);
+            }
+        }
+        return streamer;
+    }
+
+    public String toString() {
+        List<String> names = new ArrayList<>();
+        for (String name : EDITS.keySet()) {
+            if (enabledEdits.contains(name)) {
+                names.add(name);
+            }
+        }
+        return JsonUtils.listPrettify(names);
+    }
+
+}
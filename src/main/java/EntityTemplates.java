@@ -0,0 +1,369 @@
+import java.util.*;
+
+import com.google.gson.*;
+import meta.*;
+
+//Maxed and un-upgraded versions of every adventurer, dragon, weapon and wyrmprint, as they're written to a save.
+//Catalog builds them once (per kind, the first time one is needed), then JsonUtils stamp()s a copy and fills in
+//what differs per entity: key ID and gettime. Templates are shared by every save, so they're only ever copied.
+public class EntityTemplates {
+
+    //index into the {max, min} pairs the build methods return
+    public static final int MAX = 0;
+    public static final int MIN = 1;
+
+    //a copy of template to put in a save. Values are immutable so they're shared, arrays get their own copy
+    public static JsonObject stamp(JsonObject template) {
+        JsonObject out = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : template.entrySet()) {
+            JsonElement value = entry.getValue();
+            if (value.isJsonArray()) {
+                JsonArray copy = new JsonArray();
+                copy.addAll(value.getAsJsonArray());
+                value = copy;
+            }
+            out.add(entry.getKey(), value);
+        }
+        return out;
+    }
+
+    //per-entity fields: never copied from a template
+    private static final Set<String> OWN_FIELDS = new HashSet<>(Arrays.asList("dragon_key_id", "gettime", "get_time"));
+    //flags the player (or the game) sets: kept as they are when an entity is patched, and don't make it count as not maxed
+    private static final Set<String> FLAG_FIELDS = new HashSet<>(Arrays.asList("is_new", "is_lock", "is_favorite"));
+
+    //upgrades entity to template in place, keeping its key ID, gettime and lock/favorite/new flags.
+    //Returns false (and leaves it alone) if it's already there, so doing it twice is free
+    public static boolean patch(JsonObject entity, JsonObject template) {
+        if (matches(entity, template)) {
+            return false;
+        }
+        for (Map.Entry<String, JsonElement> entry : template.entrySet()) {
+            if (OWN_FIELDS.contains(entry.getKey()) || (FLAG_FIELDS.contains(entry.getKey()) && entity.has(entry.getKey()))) {
+                continue;
+            }
+            JsonElement value = entry.getValue();
+            if (value.isJsonArray()) {
+                JsonArray copy = new JsonArray();
+                copy.addAll(value.getAsJsonArray());
+                value = copy;
+            }
+            entity.add(entry.getKey(), value);
+        }
+        return true;
+    }
+
+    private static boolean matches(JsonObject entity, JsonObject template) {
+        for (Map.Entry<String, JsonElement> entry : template.entrySet()) {
+            String name = entry.getKey();
+            if (!OWN_FIELDS.contains(name) && !FLAG_FIELDS.contains(name) && !entry.getValue().equals(entity.get(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //gettime is left at 0
+    public static void buildUnits(IntMap<AdventurerMeta> idToAdventurer, IntMap<JsonObject[]> out) {
+        for (AdventurerMeta adventurerData : idToAdventurer.values()) {
+            out.put(adventurerData.getId(), new JsonObject[]{maxUnit(adventurerData), minUnit(adventurerData)});
+        }
+    }
+
+    private static JsonObject maxUnit(AdventurerMeta adventurerData) {
+        JsonObject out = new JsonObject();
+        boolean hasManaSpiral = adventurerData.hasManaSpiral();
+        JsonArray mc = new JsonArray();
+        int mcLevel = hasManaSpiral ? 70 : 50;
+        for (int i = 1; i <= mcLevel; i++) {
+            mc.add(i);
+        }
+        out.addProperty("chara_id", adventurerData.getId());
+        out.addProperty("rarity", 5);
+        out.addProperty("exp", hasManaSpiral ? 8866950 : 1191950);
+        out.addProperty("level", hasManaSpiral ? 100 : 80);
+        out.addProperty("additional_max_level", hasManaSpiral ? 20 : 0);
+        out.addProperty("hp_plus_count", 100);
+        out.addProperty("attack_plus_count", 100);
+        out.addProperty("limit_break_count", adventurerData.getMaxLimitBreakCount());
+        out.addProperty("is_new", 1);
+        out.addProperty("gettime", 0);
+        out.addProperty("skill_1_level", hasManaSpiral ? 4 : 3);
+        out.addProperty("skill_2_level", hasManaSpiral ? 3 : 2);
+        out.addProperty("ability_1_level", hasManaSpiral ? 3 : 2);
+        out.addProperty("ability_2_level", hasManaSpiral ? 3 : 2);
+        out.addProperty("ability_3_level", adventurerData.getMaxA3Level()); //this varies per adventurer
+        out.addProperty("burst_attack_level", 2);
+        out.addProperty("combo_buildup_count", hasManaSpiral ? 1 : 0);
+        out.addProperty("hp", adventurerData.getMaxHp());
+        out.addProperty("attack", adventurerData.getMaxStr());
+        out.addProperty("ex_ability_level", 5);
+        out.addProperty("ex_ability_2_level", 5);
+        out.addProperty("is_temporary", 0);
+        out.addProperty("is_unlock_edit_skill", adventurerData.hasSkillShare() ? 1 : 0);
+        out.add("mana_circle_piece_id_list", mc);
+        out.addProperty("list_view_flag", 1);
+        return out;
+    }
+
+    private static JsonObject minUnit(AdventurerMeta adventurerData) {
+        JsonObject out = new JsonObject();
+        out.addProperty("chara_id", adventurerData.getId());
+        out.addProperty("rarity", adventurerData.getBaseRarity());
+        out.addProperty("exp", 0);
+        out.addProperty("level", 1);
+        out.addProperty("additional_max_level", 0);
+        out.addProperty("hp_plus_count", 0);
+        out.addProperty("attack_plus_count", 0);
+        out.addProperty("limit_break_count", 0); //confirm?
+        out.addProperty("is_new", 1);
+        out.addProperty("gettime", 0);
+        out.addProperty("skill_1_level", 1); //confirm?
+        out.addProperty("skill_2_level", 0);
+        out.addProperty("ability_1_level", adventurerData.getMinA1Level());
+        out.addProperty("ability_2_level", 0);
+        out.addProperty("ability_3_level", 0);
+        out.addProperty("burst_attack_level", adventurerData.getMinFsLevel());
+        out.addProperty("combo_buildup_count", 0);
+        out.addProperty("hp", adventurerData.getMinHp()); //get min
+        out.addProperty("attack", adventurerData.getMinStr()); //get min
+        out.addProperty("ex_ability_level", 1);
+        out.addProperty("ex_ability_2_level", 1);
+        out.addProperty("is_temporary", 0);
+        out.addProperty("is_unlock_edit_skill", 0);
+        out.add("mana_circle_piece_id_list", new JsonArray());
+        out.addProperty("list_view_flag", 1);
+        return out;
+    }
+
+    //dragon_key_id and get_time are left at 0
+    public static void buildDragons(IntMap<DragonMeta> idToDragon, IntMap<JsonObject[]> out) {
+        for (DragonMeta dragonData : idToDragon.values()) {
+            out.put(dragonData.getId(), new JsonObject[]{maxDragon(dragonData), minDragon(dragonData)});
+        }
+    }
+
+    private static JsonObject maxDragon(DragonMeta dragonData) {
+        JsonObject out = new JsonObject();
+        out.addProperty("dragon_key_id", 0);
+        out.addProperty("dragon_id", dragonData.getId());
+        out.addProperty("level", dragonData.getMaxLevel());
+        out.addProperty("hp_plus_count", 50);
+        out.addProperty("attack_plus_count", 50);
+        out.addProperty("exp", dragonData.getMaxXp());
+        out.addProperty("is_lock", 0);
+        out.addProperty("is_new", 1);
+        out.addProperty("get_time", 0);
+        out.addProperty("skill_1_level", 2);
+        out.addProperty("ability_1_level", dragonData.getA1Max());
+        out.addProperty("ability_2_level", dragonData.getA2Max());
+        out.addProperty("limit_break_count", dragonData.has5UB() ? 5 : 4);
+        return out;
+    }
+
+    private static JsonObject minDragon(DragonMeta dragonData) {
+        JsonObject out = new JsonObject();
+        out.addProperty("dragon_key_id", 0);
+        out.addProperty("dragon_id", dragonData.getId());
+        out.addProperty("level", 1);
+        out.addProperty("hp_plus_count", 0);
+        out.addProperty("attack_plus_count", 0);
+        out.addProperty("exp", 0);
+        out.addProperty("is_lock", 0);
+        out.addProperty("is_new", 1);
+        out.addProperty("get_time", 0);
+        out.addProperty("skill_1_level", 1);
+        out.addProperty("ability_1_level", 1);
+        out.addProperty("ability_2_level", dragonData.hasA2() ? 1 : 0);
+        out.addProperty("limit_break_count", 0);
+        return out;
+    }
+
+    //gettime is left at 0. Unused (1*) weapons don't get one
+    public static void buildWeapons(IntMap<WeaponMeta> idToWeapon, IntMap<JsonObject[]> out) {
+        for (WeaponMeta weaponData : idToWeapon.values()) {
+            if (weaponData.getRarity() == 1) {
+                continue; //unused weapons
+            }
+            out.put(weaponData.getId(), new JsonObject[]{maxWeapon(weaponData), minWeapon(weaponData.getId())});
+        }
+    }
+
+    private static JsonObject maxWeapon(WeaponMeta weaponData) {
+        JsonObject out = new JsonObject();
+        String weaponSeries = weaponData.getWeaponSeries();
+        int rarity = weaponData.getRarity();
+        boolean isNullElement = weaponData.getElementId() == 99;
+
+        int level = 1;
+        int unbinds = 0;
+        int refines = 0;
+        int fiveStarSlotCount = 0;
+        int sindomSlotCount = 0;
+        //can't make copies of Mega Man collab weapons apparently...
+        int copiesCount = weaponData.getName().contains("Mega") ? 1 : 4;
+        switch (weaponSeries) {
+            case "Core":
+                switch (rarity) {
+                    case 3:
+                        level = 20;
+                        break;
+                    case 4:
+                        level = 30;
+                        break;
+                    case 5:
+                        level = 50;
+                        break;
+                }
+                unbinds = 4;
+                if (!isNullElement) {
+                    fiveStarSlotCount = 1;
+                }
+                break;
+            case "Void":
+            case "Chimeratech":
+            case "High Dragon":
+                level = 70;
+                unbinds = 8;
+                refines = 1;
+                fiveStarSlotCount = 1;
+                break;
+            case "Agito":
+                level = 90;
+                unbinds = 9;
+                refines = 2;
+                fiveStarSlotCount = 1;
+                sindomSlotCount = 2;
+                break;
+            case "Primal Dragon":
+                level = 80;
+                unbinds = 8;
+                refines = 1;
+                fiveStarSlotCount = 1;
+                sindomSlotCount = 2;
+                break;
+            case "Other":
+                //hard coded /shrug
+                if (weaponData.getName().contains("Mega")) {
+                    level = 50;
+                    unbinds = 4;
+                }
+                switch (weaponData.getName()) {
+                    case "Soldier's Brand":
+                        level = 10;
+                        unbinds = 4;
+                        break;
+                    case "Lucky Hanetsuki Paddle":
+                        level = 50;
+                        unbinds = 4;
+                        break;
+                }
+                break;
+        }
+
+        int passiveAbilityCount = weaponData.getPassiveAbilityIdList().size();
+        //too lazy to figure out mapping for these abilities + no one cares honestly
+        JsonArray voidWeaponAbilities = new JsonArray();
+        for (int i = 0; i < 15; i++) {
+            voidWeaponAbilities.add(i < passiveAbilityCount ? 1 : 0);
+        }
+
+        out.addProperty("weapon_body_id", weaponData.getId());                      //ID
+        out.addProperty("buildup_count", level);                                    //level
+        out.addProperty("limit_break_count", unbinds);                              //unbinds
+        out.addProperty("limit_over_count", refines);                               //refines
+        out.addProperty("equipable_count", copiesCount);                            //equip count
+        out.addProperty("additional_crest_slot_type_1_count", fiveStarSlotCount);   //5* slot count
+        out.addProperty("additional_crest_slot_type_2_count", 0);
+        out.addProperty("additional_crest_slot_type_3_count", sindomSlotCount);     //sindom slot count
+        out.addProperty("additional_effect_count", 0);                         //?
+        out.add("unlock_weapon_passive_ability_no_list", voidWeaponAbilities);      //void weapon abilities?
+        out.addProperty("fort_passive_chara_weapon_buildup_count", weaponData.hasWeaponBonus() ? 1 : 0);        //weapon bonus
+        out.addProperty("is_new", 1);
+        out.addProperty("gettime", 0);
+        return out;
+    }
+
+    //every un-upgraded weapon is the same apart from its ID
+    private static JsonObject minWeapon(int id) {
+        JsonObject out = new JsonObject();
+        JsonArray emptyVoidWeaponAbilities = new JsonArray();
+        for (int i = 0; i < 15; i++) {
+            emptyVoidWeaponAbilities.add(0);
+        }
+        out.addProperty("weapon_body_id", id);                      //ID
+        out.addProperty("buildup_count", 0);                                    //level
+        out.addProperty("limit_break_count", 0);                              //unbinds
+        out.addProperty("limit_over_count", 0);                               //refines
+        out.addProperty("equipable_count", 1);                            //equip count
+        out.addProperty("additional_crest_slot_type_1_count", 0);   //5* slot count
+        out.addProperty("additional_crest_slot_type_2_count", 0);
+        out.addProperty("additional_crest_slot_type_3_count", 0);     //sindom slot count
+        out.addProperty("additional_effect_count", 0);                         //?
+        out.add("unlock_weapon_passive_ability_no_list", emptyVoidWeaponAbilities);      //void weapon abilities?
+        out.addProperty("fort_passive_chara_weapon_buildup_count", 0);        //weapon bonus
+        out.addProperty("is_new", 1);
+        out.addProperty("gettime", 0);
+        return out;
+    }
+
+    //gettime is left at 0
+    public static void buildPrints(IntMap<WyrmprintMeta> idToPrint, IntMap<JsonObject[]> out) {
+        for (WyrmprintMeta printData : idToPrint.values()) {
+            out.put(printData.getId(), new JsonObject[]{maxPrint(printData), minPrint(printData)});
+        }
+    }
+
+    private static JsonObject maxPrint(WyrmprintMeta printData) {
+        JsonObject out = new JsonObject();
+        int level = 1;
+        int augmentCount = 0;
+        switch (printData.getRarity()) {
+            case 2:
+                level = 10;
+                augmentCount = 50;
+                break;
+            case 3:
+                level = 20;
+                augmentCount = 50;
+                break;
+            case 4:
+                level = 40;
+                augmentCount = 50;
+                break;
+            case 5:
+                level = 50;
+                augmentCount = 50;
+                break;
+            case 9: //sindom
+                level = 30;
+                augmentCount = 40;
+                break;
+        }
+        out.addProperty("ability_crest_id", printData.getId());
+        out.addProperty("buildup_count", level);
+        out.addProperty("limit_break_count", 4);
+        out.addProperty("equipable_count", 4);
+        out.addProperty("hp_plus_count", augmentCount);
+        out.addProperty("attack_plus_count", augmentCount);
+        out.addProperty("is_new", 1);
+        out.addProperty("is_favorite", 0);
+        out.addProperty("gettime", 0);
+        return out;
+    }
+
+    private static JsonObject minPrint(WyrmprintMeta printData) {
+        JsonObject out = new JsonObject();
+        out.addProperty("ability_crest_id", printData.getId());
+        out.addProperty("buildup_count", 0);
+        out.addProperty("limit_break_count", 0);
+        out.addProperty("equipable_count", 0);
+        out.addProperty("hp_plus_count", 0);
+        out.addProperty("attack_plus_count", 0);
+        out.addProperty("is_new", 1);
+        out.addProperty("is_favorite", 0);
+        out.addProperty("gettime", 0);
+        return out;
+    }
+
+}
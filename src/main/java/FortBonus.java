@@ -0,0 +1,81 @@
+import java.util.*;
+
+import com.google.gson.*;
+
+//The encyclopedia and weapon bonuses in fort_bonus_list (chara_bonus_by_album, dragon_bonus_by_album, param_bonus_by_weapon).
+//Bonuses are percentages with one decimal, so they're added up here as whole tenths (no 0.1 + 0.2 drift),
+//and apply() writes each table back in one pass, only if something was added to it.
+//The save's own values are the starting point: it doesn't keep enough history (there's no adventurer album)
+//to work them out from scratch.
+public class FortBonus {
+
+    public static final String CHARA_ALBUM = "chara_bonus_by_album";
+    public static final String DRAGON_ALBUM = "dragon_bonus_by_album";
+    public static final String WEAPON = "param_bonus_by_weapon";
+
+    //table --> field its entries are keyed by
+    private static final Map<String, String> KEY_FIELDS = new HashMap<>();
+    static {
+        KEY_FIELDS.put(CHARA_ALBUM, "elemental_type");
+        KEY_FIELDS.put(DRAGON_ALBUM, "elemental_type");
+        KEY_FIELDS.put(WEAPON, "weapon_type");
+    }
+
+    private final JsonObject saveData;
+    //table --> element/weapon type --> {hp, attack} in tenths, not written to the save yet
+    private final Map<String, IntMap<int[]>> pending = new LinkedHashMap<>();
+
+    public FortBonus(JsonObject saveData) {
+        this.saveData = saveData;
+    }
+
+    public void add(String table, int key, int hpTenths, int attackTenths) {
+        if (hpTenths == 0 && attackTenths == 0) {
+            return;
+        }
+        IntMap<int[]> byKey = pending.computeIfAbsent(table, k -> new IntMap<>());
+        int[] bonus = byKey.get(key);
+        if (bonus == null) {
+            bonus = new int[2];
+            byKey.put(key, bonus);
+        }
+        bonus[0] += hpTenths;
+        bonus[1] += attackTenths;
+    }
+
+    public boolean isDirty() {
+        return !pending.isEmpty();
+    }
+
+    //writes everything added so far to the save
+    public void apply() {
+        JsonObject data = saveData.getAsJsonObject("data");
+        JsonObject bonusList = data == null ? null : data.getAsJsonObject("fort_bonus_list");
+        for (Map.Entry<String, IntMap<int[]>> entry : pending.entrySet()) {
+            String table = entry.getKey();
+            if (bonusList == null || !bonusList.has(table)) {
+                continue; //a partial save (see SaveStreamer) won't have it
+            }
+            String keyField = KEY_FIELDS.get(table);
+            for (JsonElement jsonEle : bonusList.getAsJsonArray(table)) {
+                JsonObject bonusEntry = jsonEle.getAsJsonObject();
+                int[] bonus = entry.getValue().get(bonusEntry.get(keyField).getAsInt());
+                if (bonus == null) {
+                    continue;
+                }
+                int hp = toTenths(bonusEntry.get("hp").getAsDouble()) + bonus[0];
+                //for weapon bonuses: hp will always be equal to str
+                int attack = table.equals(WEAPON) ? hp : toTenths(bonusEntry.get("attack").getAsDouble()) + bonus[1];
+                bonusEntry.addProperty("hp", hp / 10.0);
+                bonusEntry.addProperty("attack", attack / 10.0);
+            }
+        }
+        pending.clear();
+    }
+
+    //also cleans up drift left in the save by older versions (1.4000000000000001 --> 14)
+    private static int toTenths(double value) {
+        return (int) Math.round(value * 10);
+    }
+
+}
@@ -0,0 +1,203 @@
+import java.util.*;
+
+//Hash map from int keys to objects that stores the keys as ints, no Integer boxing on put() or get().
+//Entries sit in plain arrays in the order they were put in (remove() moves the last entry into the gap),
+//with an open addressing table (linear probing) of positions in those arrays on top.
+//About half the memory of a HashMap<Integer, V>, and iterating is just walking an array.
+public class IntMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    //position in keys/values + 1, 0 marks an empty slot
+    private int[] table;
+
+    public IntMap() {
+        this(16);
+    }
+
+    public IntMap(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        keys = new int[Math.max(expectedSize, 8)];
+        values = new Object[keys.length];
+    }
+
+    //null if there's nothing for key
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int position = find(key);
+        return position == -1 ? null : (V) values[position];
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) != -1;
+    }
+
+    //returns what was there before, or null
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if (keys[position] == key) {
+                V old = (V) values[position];
+                values[position] = value;
+                return old;
+            }
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        table[slot] = ++size;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return null;
+    }
+
+    //returns what was already there, or null if value went in
+    public V putIfAbsent(int key, V value) {
+        V old = get(key);
+        if (old == null) {
+            put(key, value);
+        }
+        return old;
+    }
+
+    //returns what was there, or null
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[table[slot] - 1] == key) {
+                break;
+            }
+        }
+        if (table[slot] == 0) {
+            return null;
+        }
+        int position = table[slot] - 1;
+        V old = (V) values[position];
+        deleteSlot(slot);
+
+        //fill the gap with the last entry, so the arrays stay packed
+        int last = size - 1;
+        if (position != last) {
+            int lastSlot = hash(keys[last]) & mask;
+            while (table[lastSlot] != last + 1) {
+                lastSlot = (lastSlot + 1) & mask;
+            }
+            table[lastSlot] = position + 1;
+            keys[position] = keys[last];
+            values[position] = values[last];
+        }
+        values[last] = null;
+        size--;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //the keys in entry order (a copy)
+    public int[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    //read-only view of the values in entry order
+    public List<V> values() {
+        return new AbstractList<V>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public V get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return (V) values[index];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    //position of key in keys/values, or -1
+    private int find(int key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if (keys[position] == key) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    //empties a slot, moving later entries of the same probe run back so lookups still find them
+    private void deleteSlot(int slot) {
+        int mask = table.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = hash(keys[table[next] - 1]) & mask;
+            //can the entry at next move back to the gap? Only if its home isn't between the gap and next
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                gap = next;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int position = 0; position < size; position++) {
+            int slot = hash(keys[position]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = position + 1;
+        }
+    }
+
+    //same mixing as IntSet: IDs are often multiples of 10/100
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner out = new StringJoiner(", ", "{", "}");
+        forEach((key, value) -> out.add(key + "=" + value));
+        return out.toString();
+    }
+
+}
@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+//Hash set of ints that stores them as ints, no Integer boxing.
+//Open addressing with linear probing; 0 marks an empty slot, so 0 itself is kept in a separate flag.
+public class IntSet {
+
+    private int[] slots;
+    private int size;
+    private boolean hasZero;
+
+    public IntSet() {
+        this(16);
+    }
+
+    public IntSet(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        slots = new int[capacity];
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        int mask = slots.length - 1;
+        for (int i = hash(value) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //returns false if value was already in the set
+    public boolean add(int value) {
+        if (value == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int i = hash(value) & mask;
+        for (; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+        }
+        slots[i] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //the values in no particular order
+    public int[] toArray() {
+        int[] out = new int[size];
+        int count = 0;
+        if (hasZero) {
+            out[count++] = 0;
+        }
+        for (int slot : slots) {
+            if (slot != 0) {
+                out[count++] = slot;
+            }
+        }
+        return out;
+    }
+
+    private void grow() {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        int mask = slots.length - 1;
+        for (int value : old) {
+            if (value != 0) {
+                int i = hash(value) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    //IDs are often multiples of 10/100, so mix the bits before masking
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        int[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+
+}
@@ -1,21 +1,21 @@
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.IntBuffer;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import com.google.gson.*;
-import com.google.gson.stream.JsonReader;
 import meta.*;
 
 public class JsonUtils {
 
     private static final int MAX_DRAGON_CAPACITY = 525;
 
-    private static Options options;
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
-    private final String savePath;
     private String optionsPath;
     private String jarPath;
 
@@ -26,73 +26,71 @@ public class JsonUtils {
 
     private Random rng = new Random();
 
+    private Options options;
+    //what the edits check, updated whenever an option is edited
+    private Options.Snapshot settings;
+    //game data, may be shared with other JsonUtils (see BatchEditor)
+    private final Catalog catalog;
+
     //savefile
     private JsonObject jsonData;
+    //owned IDs/max keys of the save's lists, kept up to date as things are added
+    private final SaveIndex index;
+    //encyclopedia/weapon bonuses, written to fort_bonus_list on export
+    private final FortBonus fortBonus;
+    //IDs in weapon_passive_ability_list, read from the save the first time weapon passives are updated
+    private IntSet unlockedPassives;
+    private JsonArray unlockedPassivesList;
 
-    //pulled from datamine
-    private JsonArray abilitiesList;
-
-    //Ability Name --> Ability ID
-    private HashMap<String, Integer> kscapeAbilityMap = new HashMap<>();
-    //Adventurer Title --> Portrait Print ID
-    private HashMap<String, Integer> kscapeLabelsMap = new HashMap<>();
-    private List<Integer> kscapePortraitIDs = new ArrayList<>();
-    //Adventurer ID --> Adventurer Story IDs
-    private HashMap<Integer, List<Integer>> adventurerStoryMap = new HashMap<>();
-
-    //Maps
-    private HashMap<Integer, AdventurerMeta> idToAdventurer = new HashMap<>();
-    private HashMap<String, AdventurerMeta> nameToAdventurer = new HashMap<>();
-
-    private HashMap<Integer, DragonMeta> idToDragon = new HashMap<>();
-    private HashMap<String, DragonMeta> nameToDragon = new HashMap<>();
-
-    private HashMap<Integer, WeaponMeta> idToWeapon = new HashMap<>();
-    private HashMap<Integer, String> idToWeaponSkinName = new HashMap<>();
-    private HashMap<Integer, WyrmprintMeta> idToPrint = new HashMap<>();
-    private HashMap<Integer, FacilityMeta> idToFacility = new HashMap<>();
-    private HashMap<Integer, MaterialMeta> idToMaterial = new HashMap<>();
-
-    //Alias Maps
-    private HashMap<String, List<String>> adventurerAliases = new HashMap<>();
-    private HashMap<String, List<String>> dragonAliases = new HashMap<>();
-
+    private final List<String> testFlags = new ArrayList<>();
 
-    private JsonObject maxedFacilityBonuses;
+    //taken once, so everything added in one session gets the same gettime
+    private final long sessionTime = Instant.now().getEpochSecond();
 
-    private final List<String> testFlags = new ArrayList<>();
+    //fields that are read/written in loops, looked up once (see SavePath)
+    private final SavePath maxDragonQuantity = new SavePath("data", "user_data", "max_dragon_quantity");
+    private final SavePath dragonReliabilityList = new SavePath("data", "dragon_reliability_list");
 
-    public JsonUtils(String savePath, String optionsPath, String jarPath, boolean inJar) {
+    //saveData comes from SaveLoader, so the save file is only parsed once
+    public JsonUtils(JsonObject saveData, Catalog catalog, String optionsPath, String jarPath, boolean inJar) {
         log("Initializing JsonUtils...");
 
-        this.savePath = savePath;
         this.optionsPath = optionsPath;
         this.jarPath = jarPath;
         this.inJar = inJar;
         rsrcPath = Paths.get(jarPath, "rsrc").toString();
+        this.catalog = catalog;
+        this.jsonData = saveData;
+        this.index = new SaveIndex(saveData);
+        this.fortBonus = new FortBonus(saveData);
         try {
-            this.jsonData = getSaveData().getAsJsonObject();
-            readAliasesData();
-            readAdventurerData();
-            readDragonsData();
-            readKscapeData();
-            readKscapeLabels();
-            readStoryData();
-            readWeaponSkinData();
-            readWeaponsData();
-            readPrintsData();
-            readAbilitiesData();
-            readFacilitiesData();
-            readMaterialsData();
             readOptionsData();
+            settings = options.snapshot();
         } catch (IOException e) {
             e.printStackTrace();
-            System.out.println("Unable to read JSON data!");
+            System.out.println("Unable to read options data!");
             System.exit(99);
         }
 
     }
 
+    //for editing many saves in one go: the catalog and options are loaded once by the caller.
+    //The tree may also only hold some of the save's lists (see SaveStreamer)
+    public JsonUtils(JsonObject saveData, Catalog catalog, Options options) {
+        log("Initializing JsonUtils...");
+
+        this.optionsPath = "";
+        this.jarPath = "";
+        this.inJar = false;
+        rsrcPath = "";
+        this.catalog = catalog;
+        this.options = options;
+        this.settings = options.snapshot();
+        this.jsonData = saveData;
+        this.index = new SaveIndex(saveData);
+        this.fortBonus = new FortBonus(saveData);
+    }
+
     public void writeToFile() {
         try {
             String newPath;
@@ -108,10 +106,7 @@ public class JsonUtils {
             } else {
                 newPath = Paths.get(basePath, fileName).toString();
             }
-            FileWriter fileWriter = new FileWriter(newPath);
-            GSON.toJson(jsonData, fileWriter);
-            fileWriter.flush();
-            fileWriter.close();
+            writeToFile(newPath);
             if(inJar) {
                 System.out.println("Saved output JSON to " + Paths.get(jarPath, fileName));
             } else {
@@ -122,6 +117,14 @@ public class JsonUtils {
         }
     }
 
+    public void writeToFile(String path) throws IOException {
+        applyFortBonuses();
+        FileWriter fileWriter = new FileWriter(path);
+        GSON.toJson(jsonData, fileWriter);
+        fileWriter.flush();
+        fileWriter.close();
+    }
+
     public boolean checkTests(){
         Tests tests = new Tests(this);
         log("noDupeCharaIdTest(): " + tests.noDupeCharaIdTest());
@@ -129,6 +132,8 @@ public class JsonUtils {
         log("noDupeTalismanKeyIdTest(): " + tests.noDupeTalismanKeyIdTest());
         log("noDupeWeaponSkinIdTest(): " + tests.noDupeWeaponSkinIdTest());
         log("noDupeCrestIdTest(): " + tests.noDupeCrestIdTest());
+        log("noDupeBuildIdTest(): " + tests.noDupeBuildIdTest());
+        log("noDupeSummonTicketKeyIdTest(): " + tests.noDupeSummonTicketKeyIdTest());
         log("weaponPassivesIdTest(): " + tests.weaponPassivesIdTest());
         log("weaponPassivesIdPerWeaponTest(): " + tests.weaponPassivesIdPerWeaponTest());
         if(!tests.getIfAllPassed()){
@@ -147,9 +152,9 @@ public class JsonUtils {
         this.toOverwrite = toOverwrite;
     }
 
-    public double addDoubles(double val1, double val2) {
-        //sure hope this prevents floating point inaccuracy
-        return ((10.0 * val1) + (10.0 * val2)) / 10;
+    //writes the bonuses added by the edits so far to fort_bonus_list
+    public void applyFortBonuses() {
+        fortBonus.apply();
     }
 
     public JsonObject getJsonData() {
@@ -158,42 +163,6 @@ public class JsonUtils {
 
     public List<String> getTestFlags() { return testFlags; }
 
-    private JsonObject getSaveData() throws IOException {
-        JsonReader reader = new JsonReader(new FileReader(savePath));
-        return GSON.fromJson(reader, JsonObject.class);
-    }
-
-    private BufferedReader getBufferedReader(String... more){
-        return new BufferedReader(getRsrcReader(more));
-    }
-
-    private InputStreamReader getRsrcReader(String... more){
-        //getResourceAsStream() doesn't like backslashes i think...?
-        //hope this doesn't break on other OS...
-        String path = (File.separator + Paths.get("rsrc", more)).replace("\\", "/");
-        InputStream in;
-        in = JsonUtils.class.getResourceAsStream(path);
-        if(in == null){
-            System.out.println(path);
-            in = JsonUtils.class.getClassLoader().getResourceAsStream(path);
-        }
-        if(in == null){
-            System.out.println("Could not load resource!");
-            System.exit(92);
-        }
-        return new InputStreamReader(in, StandardCharsets.UTF_8);
-    }
-
-    private JsonArray getJsonArray(String more) {
-        JsonReader reader = new JsonReader(getRsrcReader(more));
-        return GSON.fromJson(reader, JsonArray.class);
-    }
-
-    private JsonObject getJsonObject(String more) {
-        JsonReader reader = new JsonReader(getRsrcReader(more));
-        return GSON.fromJson(reader, JsonObject.class);
-    }
-
     public String getFieldAsString(String... memberNames) {
         return getField(memberNames).getAsString();
     }
@@ -210,38 +179,32 @@ public class JsonUtils {
         return getField(memberNames).getAsJsonObject();
     }
 
-    public List<Integer> jsonArrayToList(JsonArray value){
-        ArrayList<Integer> out = new ArrayList<>();
-        for (JsonElement jsonEle : value) {
-            out.add(jsonEle.getAsInt());
-        }
-        return out;
+    //the value keeps its spot in the save
+    private void writeInteger(int value, String... memberNames) {
+        getParentOf(memberNames).addProperty(memberNames[memberNames.length - 1], value);
     }
 
-    private void writeInteger(int value, String... memberNames) {
-        List<String> memberNameList = new ArrayList<>(Arrays.asList(memberNames));
+    private void writeLong(long value, String... memberNames) {
+        getParentOf(memberNames).addProperty(memberNames[memberNames.length - 1], value);
+    }
 
+    private JsonObject getParentOf(String... memberNames) {
         JsonElement jsonEle = jsonData;
-        for (int i = 0; i < memberNameList.size() - 1; i++) {
-            jsonEle = jsonEle.getAsJsonObject().get(memberNameList.get(i));
+        for (int i = 0; i < memberNames.length - 1; i++) {
+            jsonEle = jsonEle.getAsJsonObject().get(memberNames[i]);
         }
-        String lastMemberName = memberNameList.get(memberNameList.size() - 1);
-        JsonObject jsonObj = jsonEle.getAsJsonObject();
-        jsonObj.remove(lastMemberName);
-        jsonObj.addProperty(lastMemberName, value);
+        return jsonEle.getAsJsonObject();
     }
 
-    private void writeLong(long value, String... memberNames) {
-        List<String> memberNameList = new ArrayList<>(Arrays.asList(memberNames));
-
+    public boolean hasField(String... memberNames) {
         JsonElement jsonEle = jsonData;
-        for (int i = 0; i < memberNameList.size() - 1; i++) {
-            jsonEle = jsonEle.getAsJsonObject().get(memberNameList.get(i));
+        for (String memberName : memberNames) {
+            if (jsonEle == null || !jsonEle.isJsonObject()) {
+                return false;
+            }
+            jsonEle = jsonEle.getAsJsonObject().get(memberName);
         }
-        String lastMemberName = memberNameList.get(memberNameList.size() - 1);
-        JsonObject jsonObj = jsonEle.getAsJsonObject();
-        jsonObj.remove(lastMemberName);
-        jsonObj.addProperty(lastMemberName, value);
+        return jsonEle != null;
     }
 
     private JsonElement getField(String... memberNames) {
@@ -254,318 +217,30 @@ public class JsonUtils {
         return jsonEle;
     }
 
-    //List Utils
-    private int getSum(JsonObject src, String... memberNames) {
-        int sum = 0;
-        for (String memberName : memberNames) {
-            sum += src.get(memberName).getAsInt();
-        }
-        return sum;
-    }
-
-    public Set<Integer> getSetFromField(String fieldName, String... memberNames){
-        Set<Integer> out = new HashSet<>();
-        getFieldAsJsonArray(memberNames).forEach(jsonEle ->
-                out.add(jsonEle.getAsJsonObject().get(fieldName).getAsInt()));
-        return out;
-    }
-
-    //mainly used to get max keyId
-    private int getMaxFromObjListField(String fieldName, String... memberNames){
-        int max = -1;
-        JsonArray jsonArray = getFieldAsJsonArray(memberNames);
-        for (JsonElement jsonEle : jsonArray) {
-            JsonObject jsonObj = jsonEle.getAsJsonObject();
-            max = Math.max(max, jsonObj.get(fieldName).getAsInt());
-        }
-        return max;
-    }
-
-    //Reads
-    private void readAliasesData() throws IOException {
-        //Get aliases
-        BufferedReader br = getBufferedReader("adventurerAliases.txt");
-        String out = br.readLine();
-        while (out != null) {
-            String[] split = out.split(",");
-            String name = split[0].toUpperCase();
-            List<String> advAliases = new ArrayList<>();
-            for(int i = 1; i < split.length; i++){
-                advAliases.add(split[i].toUpperCase());
-            }
-            adventurerAliases.put(name, advAliases);
-            out = br.readLine();
-        }
-        br = getBufferedReader("dragonAliases.txt");
-        out = br.readLine();
-        while (out != null) {
-            String[] split = out.split(",");
-            String name = split[0].toUpperCase();
-            List<String> drgAliases = new ArrayList<>();
-            for(int i = 1; i < split.length; i++){
-                drgAliases.add(split[i].toUpperCase());
-            }
-            dragonAliases.put(name, drgAliases);
-            out = br.readLine();
-        }
-    }
-
-    private void readAdventurerData() throws IOException {
-        for (JsonElement jsonEle : getJsonArray("adventurers.json")) {
-            JsonObject adv = jsonEle.getAsJsonObject();
-            String baseName = adv.get("FullName").getAsString();
-            String name = baseName.toUpperCase();
-            if (name.equals("PUPPY")) {
-                continue; //dog check //...i should just remove this
-            }
-            //fill idToAdventurer map
-            boolean hasManaSpiral = !(adv.get("ManaSpiralDate") instanceof JsonNull);
-            int hp, str;
-            int id = adv.get("IdLong").getAsInt();
-            if (hasManaSpiral) {
-                hp = getSum(adv, "AddMaxHp1", "PlusHp0", "PlusHp1", "PlusHp2", "PlusHp3", "PlusHp4", "PlusHp5", "McFullBonusHp5");
-                str = getSum(adv, "AddMaxAtk1", "PlusAtk0", "PlusAtk1", "PlusAtk2", "PlusAtk3", "PlusAtk4", "PlusAtk5", "McFullBonusAtk5");
-            } else {
-                hp = getSum(adv, "MaxHp", "PlusHp0", "PlusHp1", "PlusHp2", "PlusHp3", "PlusHp4", "McFullBonusHp5");
-                str = getSum(adv, "MaxAtk", "PlusAtk0", "PlusAtk1", "PlusAtk2", "PlusAtk3", "PlusAtk4", "McFullBonusAtk5");
-            }
-            int maxA3Level = 1;
-            if(adv.get("Abilities32").getAsInt() != 0){
-                maxA3Level = 2;
-                if(adv.get("Abilities33").getAsInt() != 0){
-                    maxA3Level = 3;
-                }
-            }
-            String manaCircleType = adv.get("ManaCircleName").getAsString();
-            AdventurerMeta unit = new AdventurerMeta(baseName, adv.get("Title").getAsString(), id,
-                    adv.get("ElementalTypeId").getAsInt(), hp, str,adv.get("MaxLimitBreakCount").getAsInt(),
-                    adv.get("EditSkillCost").getAsInt() != 0, hasManaSpiral, maxA3Level,
-                    adv.get("MinHp3").getAsInt(), adv.get("MinHp4").getAsInt(), adv.get("MinHp5").getAsInt(),
-                    adv.get("MinAtk3").getAsInt(), adv.get("MinAtk4").getAsInt(), adv.get("MinAtk5").getAsInt(),
-                    adv.get("Rarity").getAsInt(), manaCircleType
-                    );
-            idToAdventurer.put(id, unit);
-            nameToAdventurer.put(name, unit);
-            if(adventurerAliases.containsKey(name)){
-                adventurerAliases.get(name).forEach(alias -> nameToAdventurer.put(alias.toUpperCase(), unit));
-            }
-        }
-    }
-
-    private void readDragonsData() throws IOException {
-        for (JsonElement jsonEle : getJsonArray("dragons.json")) {
-            JsonObject drg = jsonEle.getAsJsonObject();
-            String baseName = drg.get("FullName").getAsString();
-            String name = baseName.toUpperCase();
-            if (drg.get("IsPlayable").getAsInt() == 0) {
-                continue;
-            }
-            //fill idToDragon
-            boolean has5UB = drg.get("MaxLimitBreakCount").getAsInt() == 5;
-            int id = drg.get("Id").getAsInt();
-            int rarity = drg.get("Rarity").getAsInt();
-            int a1Level = has5UB ?
-                    6 : drg.get("Abilities15").getAsInt() != 0 ?
-                    5 : 0;
-            int a2Level = has5UB ?
-                    6 : drg.get("Abilities25").getAsInt() != 0 ?
-                    5 : 0;
-            boolean hasA2 = drg.get("Abilities21").getAsInt() != 0;
-            DragonMeta unit = new DragonMeta(baseName, id, drg.get("ElementalTypeId").getAsInt(),
-                a1Level, a2Level, rarity, has5UB, hasA2);
-            idToDragon.put(id, unit);
-            nameToDragon.put(name, unit);
-            if(dragonAliases.containsKey(name)){
-                dragonAliases.get(name).forEach(alias -> nameToDragon.put(alias.toUpperCase(), unit));
-            }
-        }
-    }
-
-    private void readAbilitiesData() throws IOException {
-        abilitiesList = getJsonArray("abilities.json");
-    }
-
-    private void readMaterialsData() throws IOException {
-        getJsonArray("materials.json").forEach(jsonEle -> {
-            JsonObject mat = jsonEle.getAsJsonObject();
-            String name = mat.get("Name").getAsString();
-            int id = mat.get("Id").getAsInt();
-            String category;
-            if(mat.has("Category")){
-                category = mat.get("Category").getAsString();
-            } else {
-               category = "Idk";
-            }
-            idToMaterial.put(id, new MaterialMeta(name, id, category));
-        });
-    }
-
-    private void readFacilitiesData() throws IOException {
-        HashMap<Integer, JsonObject> facilitiesMap = new HashMap<>();
-        //pull wiki facilities data
-        getJsonArray("facilities.json").forEach(jsonEle -> {
-            JsonObject facility = jsonEle.getAsJsonObject();
-            int id = facility.get("Id").getAsInt();
-            facilitiesMap.put(id, facility);
-        });
-
-        BufferedReader br = getBufferedReader("FortPlantDetail.txt");
-        br.readLine(); //ignore first line
-        String out = br.readLine();
-
-        int id = 1337;
-        int maxLevel = -1;
-        //this code sucks balls who wrote it
-        while (out != null) {
-            String[] split = out.split(",");
-            String longID = split[0]; //longID is facility ID AAAAAA + level BB
-
-            int newId = Integer.parseInt(longID.substring(0,6));
-            if(id != newId){ //starting to read thru data for next facility... assign facility max level to list
-                if(id != 1337){
-                    boolean isResourceFacility = id == 100101 || id == 100201 || id == 100301; //halidom, mine, dragontree
-                    FacilityMeta fac = new FacilityMeta(facilitiesMap.get(id).get("Name").getAsString(), id, maxLevel,
-                            isResourceFacility, facilitiesMap.get(id).get("Available").getAsInt());
-                    idToFacility.put(id, fac);
-                    maxLevel = -1;
-                }
-                id = newId;
-            }
-            maxLevel = Math.max(Integer.parseInt(split[3]), maxLevel);
-            out = br.readLine();
-        }
-
-        //get max facility bonus data
-        maxedFacilityBonuses = getJsonObject("maxedFacilityBonuses.json");
-    }
-
-    private void readWeaponsData() throws IOException {
-        for(JsonElement jsonEle : getJsonArray("weapons.json")){
-            JsonObject weaponData = jsonEle.getAsJsonObject();
-            int id = weaponData.get("Id").getAsInt();
-            List<Integer> passiveIds = jsonArrayToList(weaponData.get("PassiveAbilities").getAsJsonArray());
-            WeaponMeta weapon = new WeaponMeta(weaponData.get("Name").getAsString(), id,
-                    weaponData.get("ElementalTypeId").getAsInt(), weaponData.get("WeaponTypeId").getAsInt(),
-                    weaponData.get("WeaponSeries").getAsString(), weaponData.get("Rarity").getAsInt(),
-                    passiveIds, weaponData.get("HasWeaponBonus").getAsBoolean());
-            idToWeapon.put(id, weapon);
-        }
-    }
-
-    private void readPrintsData() throws IOException {
-        for(JsonElement jsonEle : getJsonArray("prints.json")){
-            JsonObject printData = jsonEle.getAsJsonObject();
-            int id = printData.get("Id").getAsInt();
-            WyrmprintMeta print = new WyrmprintMeta(printData.get("Name").getAsString(),
-                    id, printData.get("Rarity").getAsInt());
-            idToPrint.put(id, print);
-        }
-    }
-
-    private void readKscapeData() throws IOException {
-        JsonObject kscapeJson = getJsonObject("kscape.json");
-        for (Map.Entry<String, JsonElement> entry : kscapeJson.entrySet()) {
-            kscapeAbilityMap.put(entry.getKey(), entry.getValue().getAsInt());
-        }
-    }
-
-    private void readKscapeLabels() throws IOException {
-        BufferedReader br = getBufferedReader("kscapeLabels.txt");
-        String out = br.readLine();
-        while (out != null) {
-            String[] split1 = out.split("\t");
-            int id = Integer.parseInt(split1[0].split("_")[2]);
-            String label = split1[2];
-            kscapeLabelsMap.put(label, id);
-            kscapePortraitIDs.add(id);
-            out = br.readLine();
-        }
-    }
-
     private void readOptionsData() throws IOException {
         options = new Options(optionsPath);
     }
 
-    private void readStoryData() throws IOException {
-        for(Map.Entry<String, JsonElement> entry : getJsonObject("CharaStories.json").entrySet()){
-            int id = Integer.parseInt(entry.getKey());
-            JsonObject stories = entry.getValue().getAsJsonObject();
-            List<Integer> storyIDs = new ArrayList<>();
-            storyIDs.add(stories.get("0").getAsInt());
-            storyIDs.add(stories.get("1").getAsInt());
-            storyIDs.add(stories.get("2").getAsInt());
-            storyIDs.add(stories.get("3").getAsInt());
-            storyIDs.add(stories.get("4").getAsInt());
-            adventurerStoryMap.put(id, storyIDs);
-        }
-    }
-
-    private void readWeaponSkinData() throws IOException {
-        BufferedReader br = getBufferedReader("weaponSkins.txt");
-        String out = br.readLine();
-        while (out != null) {
-            String[] fields = out.split("\t");
-            int skinID = Integer.parseInt(fields[0].split("_")[3]);
-            String name = fields[2];
-            out = br.readLine();
-            idToWeaponSkinName.put(skinID, name);
-        }
-    }
-
+    //bonus from adding an adventurer to the encyclopedia. Bonuses are in tenths of a percent (see FortBonus)
     private void addAdventurerEncyclopediaBonus(AdventurerMeta adv) {
         boolean hasManaSpiral = adv.hasManaSpiral();
-        double bonus = hasManaSpiral ? 0.3 : 0.2;
+        int bonus = hasManaSpiral ? 3 : 2;
         int elementID = adv.getElementId();
-        if (options.getFieldValue("maxAddedAdventurers")) {
-            addAdventurerEncyclopediaBonus(elementID, bonus, bonus);
+        if (settings.maxAddedAdventurers()) {
+            fortBonus.add(FortBonus.CHARA_ALBUM, elementID, bonus, bonus);
         } else { //bonus from adding new adventurer (no upgrades)
-            addAdventurerEncyclopediaBonus(elementID, 0.1, 0.1);
-        }
-    }
-
-    private void addAdventurerEncyclopediaBonus(int elementId, double hpBonus, double strBonus) {
-        JsonArray albumBonuses = getFieldAsJsonArray("data", "fort_bonus_list", "chara_bonus_by_album");
-        for (JsonElement jsonEle : albumBonuses) {
-            JsonObject albumBonus = jsonEle.getAsJsonObject();
-            if (albumBonus.get("elemental_type").getAsInt() == elementId) {
-                double hp = albumBonus.get("hp").getAsDouble();
-                double attack = albumBonus.get("attack").getAsDouble();
-                double resultHp = addDoubles(hp, hpBonus);
-                double resultStr = addDoubles(attack, strBonus);
-                albumBonus.remove("hp");
-                albumBonus.remove("attack");
-                albumBonus.addProperty("hp", resultHp);
-                albumBonus.addProperty("attack", resultStr);
-            }
+            fortBonus.add(FortBonus.CHARA_ALBUM, elementID, 1, 1);
         }
     }
 
+    //bonus from adding a dragon to the encyclopedia
     private void addDragonEncyclopediaBonus(DragonMeta dragon) {
         boolean has5UB = dragon.has5UB();
-        double hpBonus = has5UB ? 0.3 : 0.2;
-        double strBonus = 0.1;
         int elementID = dragon.getElementId();
-        if (options.getFieldValue("maxAddedDragons")) {
-            addDragonEncyclopediaBonus(elementID, hpBonus, strBonus);
+        if (settings.maxAddedDragons()) {
+            fortBonus.add(FortBonus.DRAGON_ALBUM, elementID, has5UB ? 3 : 2, 1);
         } else {
-            addDragonEncyclopediaBonus(elementID, 0.1, 0.1);
-        }
-    }
-
-    private void addDragonEncyclopediaBonus(int elementID, double hpBonus, double strBonus) {
-        JsonArray albumBonuses = getFieldAsJsonArray("data", "fort_bonus_list", "dragon_bonus_by_album");
-        for (JsonElement jsonEle : albumBonuses) {
-            JsonObject albumBonus = jsonEle.getAsJsonObject();
-            if (albumBonus.get("elemental_type").getAsInt() == elementID) {
-                double hp = albumBonus.get("hp").getAsDouble();
-                double attack = albumBonus.get("attack").getAsDouble();
-                double resultHp = addDoubles(hp, hpBonus);
-                double resultStr = addDoubles(attack, strBonus);
-                albumBonus.remove("hp");
-                albumBonus.remove("attack");
-                albumBonus.addProperty("hp", resultHp);
-                albumBonus.addProperty("attack", resultStr);
-            }
+            fortBonus.add(FortBonus.DRAGON_ALBUM, elementID, 1, 1);
         }
     }
 
@@ -574,36 +249,21 @@ public class JsonUtils {
             return;
         }
         String weaponSeries = weapon.getWeaponSeries();
-        double bonus = 0.0;
+        int bonus = 0;
         switch (weaponSeries) {
             case "Core":
             case "Void":
             case "Chimeratech":
-                bonus = 0.5;
+                bonus = 5;
                 break;
             case "High Dragon":
             case "Agito":
             case "Primal Dragon":
-                bonus = 1.5;
+                bonus = 15;
                 break;
         }
-        if (bonus == 0.0) {
-            return; //no bonus added
-        }
-        int weaponTypeId = weapon.getWeaponTypeId();
-        JsonArray weaponBonuses = getFieldAsJsonArray("data", "fort_bonus_list", "param_bonus_by_weapon");
-        for (JsonElement jsonEle : weaponBonuses) {
-            JsonObject weaponBonus = jsonEle.getAsJsonObject();
-            if (weaponBonus.get("weapon_type").getAsInt() == weaponTypeId) {
-                //for weapon bonuses: hp will always be equal to str
-                double value = weaponBonus.get("hp").getAsDouble();
-                double resultBonus = addDoubles(value, bonus);
-                weaponBonus.remove("hp");
-                weaponBonus.remove("attack");
-                weaponBonus.addProperty("hp", resultBonus);
-                weaponBonus.addProperty("attack", resultBonus);
-            }
-        }
+        //no bonus added if 0
+        fortBonus.add(FortBonus.WEAPON, weapon.getWeaponTypeId(), bonus, bonus);
     }
 
     //Builders
@@ -612,25 +272,18 @@ public class JsonUtils {
         for(int i = 0; i < count; i++){
             JsonObject out = new JsonObject();
 
-            int keyIdMax = 0;   //need to keep track of keyId
-            //Obtain keyIdMax
-            JsonArray ownedTalismans = getFieldAsJsonArray("data", "talisman_list");
-            for (JsonElement jsonEle : ownedTalismans) {
-                JsonObject ownedTalisman = jsonEle.getAsJsonObject();
-                keyIdMax = Math.max(keyIdMax, ownedTalisman.get("talisman_key_id").getAsInt());
-            }
             String name = advName.toUpperCase();
-            if(!nameToAdventurer.containsKey(name)){
+            if(!catalog.getNameToAdventurer().containsKey(name)){
                 System.out.println("No adventurer found for name: " + advName + "!");
                 return;
             }
-            String label = nameToAdventurer.get(name).getTitle();
-            if(!kscapeLabelsMap.containsKey(label)){
+            String label = catalog.getNameToAdventurer().get(name).getTitle();
+            if(!catalog.getKscapeLabelsMap().containsKey(label)){
                 System.out.println("No ID found for label:" + label + "!");
             }
-            int portraitID = kscapeLabelsMap.get(label);
+            int portraitID = catalog.getKscapeLabelsMap().get(label);
 
-            out.addProperty("talisman_key_id", keyIdMax + 200);
+            out.addProperty("talisman_key_id", index.getKeyAllocator("talisman_list").next());
             out.addProperty("talisman_id", portraitID);
             out.addProperty("is_lock", 0);
             out.addProperty("is_new", 1);
@@ -639,19 +292,19 @@ public class JsonUtils {
             out.addProperty("talisman_ability_id_3", id3);
             out.addProperty("additional_hp", 100);
             out.addProperty("additional_attack", 100);
-            out.addProperty("gettime", Instant.now().getEpochSecond());
+            out.addProperty("gettime", sessionTime);
 
-            getFieldAsJsonArray("data", "talisman_list").add(out);
+            index.add("talisman_list", out);
         }
     }
 
-    private JsonObject buildTalisman(String label, String[] combo, int keyIdOffset) {
+    private JsonObject buildTalisman(String label, String[] combo, int keyId) {
         JsonObject out = new JsonObject();
         int abilityId1 = 0;
         int abilityId2 = 0;
         int abilityId3 = 0;
         for (int i = 0; i < combo.length; i++) {
-            int id = kscapeAbilityMap.get(combo[i]);
+            int id = catalog.getKscapeAbilityMap().get(combo[i]);
             switch (i) {
                 case 0:
                     abilityId1 = id;
@@ -665,8 +318,8 @@ public class JsonUtils {
             }
         }
 
-        out.addProperty("talisman_key_id", 200000 + 100 * keyIdOffset);
-        out.addProperty("talisman_id", kscapeLabelsMap.get(label));
+        out.addProperty("talisman_key_id", keyId);
+        out.addProperty("talisman_id", catalog.getKscapeLabelsMap().get(label));
         out.addProperty("is_lock", 0);
         out.addProperty("is_new", 1);
         out.addProperty("talisman_ability_id_1", abilityId1);
@@ -674,141 +327,49 @@ public class JsonUtils {
         out.addProperty("talisman_ability_id_3", abilityId3);
         out.addProperty("additional_hp", 100);
         out.addProperty("additional_attack", 100);
-        out.addProperty("gettime", Instant.now().getEpochSecond());
+        out.addProperty("gettime", sessionTime);
 
         return out;
     }
 
-    private JsonObject buildRandomTalisman(int id, int keyIdOffset) {
+    private JsonObject buildRandomTalisman(int id, int keyId) {
         JsonObject out = new JsonObject();
-        int totalAbilitiesCount = abilitiesList.size();
+        IntBuffer abilityIds = catalog.getAbilityIds();
 
-        out.addProperty("talisman_key_id", 200000 + 100 * keyIdOffset);
+        out.addProperty("talisman_key_id", keyId);
         out.addProperty("talisman_id", id);
         out.addProperty("is_lock", 0);
         out.addProperty("is_new", 1);
-        out.addProperty("talisman_ability_id_1", abilitiesList.get(rng.nextInt(totalAbilitiesCount)).getAsJsonObject().get("Id").getAsInt());
-        out.addProperty("talisman_ability_id_2", abilitiesList.get(rng.nextInt(totalAbilitiesCount)).getAsJsonObject().get("Id").getAsInt());
-        out.addProperty("talisman_ability_id_3", abilitiesList.get(rng.nextInt(totalAbilitiesCount)).getAsJsonObject().get("Id").getAsInt());
+        out.addProperty("talisman_ability_id_1", abilityIds.get(rng.nextInt(abilityIds.limit())));
+        out.addProperty("talisman_ability_id_2", abilityIds.get(rng.nextInt(abilityIds.limit())));
+        out.addProperty("talisman_ability_id_3", abilityIds.get(rng.nextInt(abilityIds.limit())));
         out.addProperty("additional_hp", 100);
         out.addProperty("additional_attack", 100);
-        out.addProperty("gettime", Instant.now().getEpochSecond());
+        out.addProperty("gettime", sessionTime);
 
         return out;
     }
 
     //Returns a built adventurer in savedata.txt format
     private JsonObject buildUnit(AdventurerMeta adventurerData, int getTime) {
-        JsonObject out = new JsonObject();
         if (adventurerData.getName().equals("Puppy")) {
             return null; //no dogs allowed
         }
 
         //to add new unit as a level 1 un-upgraded unit
-        boolean minUnit = getTime == -1 && !options.getFieldValue("maxAddedAdventurers");
+        boolean minUnit = getTime == -1 && !settings.maxAddedAdventurers();
 
-        boolean hasManaSpiral = adventurerData.hasManaSpiral();
-        JsonArray mc = new JsonArray();
-        int mcLevel = hasManaSpiral ? 70 : 50;
-        for (int i = 1; i <= mcLevel; i++) {
-            mc.add(i);
-        }
-        if (!minUnit) { //maxed unit
-            out.addProperty("chara_id", adventurerData.getId());
-            out.addProperty("rarity", 5);
-            out.addProperty("exp", hasManaSpiral ? 8866950 : 1191950);
-            out.addProperty("level", hasManaSpiral ? 100 : 80);
-            out.addProperty("additional_max_level", hasManaSpiral ? 20 : 0);
-            out.addProperty("hp_plus_count", 100);
-            out.addProperty("attack_plus_count", 100);
-            out.addProperty("limit_break_count", adventurerData.getMaxLimitBreakCount());
-            out.addProperty("is_new", 1);
-            out.addProperty("gettime", getTime == -1 ? Instant.now().getEpochSecond() : getTime);
-            out.addProperty("skill_1_level", hasManaSpiral ? 4 : 3);
-            out.addProperty("skill_2_level", hasManaSpiral ? 3 : 2);
-            out.addProperty("ability_1_level", hasManaSpiral ? 3 : 2);
-            out.addProperty("ability_2_level", hasManaSpiral ? 3 : 2);
-            out.addProperty("ability_3_level", adventurerData.getMaxA3Level()); //this varies per adventurer
-            out.addProperty("burst_attack_level", 2);
-            out.addProperty("combo_buildup_count", hasManaSpiral ? 1 : 0);
-            out.addProperty("hp", adventurerData.getMaxHp());
-            out.addProperty("attack", adventurerData.getMaxStr());
-            out.addProperty("ex_ability_level", 5);
-            out.addProperty("ex_ability_2_level", 5);
-            out.addProperty("is_temporary", 0);
-            out.addProperty("is_unlock_edit_skill", adventurerData.hasSkillShare() ? 1 : 0);
-            out.add("mana_circle_piece_id_list", mc);
-            out.addProperty("list_view_flag", 1);
-        } else { //un-upgraded unit
-            out.addProperty("chara_id", adventurerData.getId());
-            out.addProperty("rarity", adventurerData.getBaseRarity());
-            out.addProperty("exp", 0);
-            out.addProperty("level", 1);
-            out.addProperty("additional_max_level", 0);
-            out.addProperty("hp_plus_count", 0);
-            out.addProperty("attack_plus_count", 0);
-            out.addProperty("limit_break_count", 0); //confirm?
-            out.addProperty("is_new", 1);
-            out.addProperty("gettime", Instant.now().getEpochSecond());
-            out.addProperty("skill_1_level", 1); //confirm?
-            out.addProperty("skill_2_level", 0);
-            out.addProperty("ability_1_level", adventurerData.getMinA1Level());
-            out.addProperty("ability_2_level", 0);
-            out.addProperty("ability_3_level", 0);
-            out.addProperty("burst_attack_level", adventurerData.getMinFsLevel());
-            out.addProperty("combo_buildup_count", 0);
-            out.addProperty("hp", adventurerData.getMinHp()); //get min
-            out.addProperty("attack", adventurerData.getMinStr()); //get min
-            out.addProperty("ex_ability_level", 1);
-            out.addProperty("ex_ability_2_level", 1);
-            out.addProperty("is_temporary", 0);
-            out.addProperty("is_unlock_edit_skill", 0);
-            out.add("mana_circle_piece_id_list", new JsonArray());
-            out.addProperty("list_view_flag", 1);
-        }
+        JsonObject out = EntityTemplates.stamp(catalog.getUnitTemplate(adventurerData.getId(), minUnit));
+        out.addProperty("gettime", getTime == -1 ? sessionTime : getTime);
         return out;
     }
 
     //Returns a built dragon in savedata.txt format
-    private JsonObject buildDragon(DragonMeta dragonData, int keyIdMin, int keyIdOffset) {
-        JsonObject out = new JsonObject();
-        boolean has5UB = dragonData.has5UB();
-        int xp = dragonData.getMaxXp();
-        int level = dragonData.getMaxLevel();
-
-        int a1Level = dragonData.getA1Max();
-        int a2Level = dragonData.getA2Max();
-
-        boolean minDragon = !options.getFieldValue("maxAddedDragons");
-        if (!minDragon) {
-            out.addProperty("dragon_key_id", keyIdMin + 200 * keyIdOffset);
-            out.addProperty("dragon_id", dragonData.getId());
-            out.addProperty("level", level);
-            out.addProperty("hp_plus_count", 50);
-            out.addProperty("attack_plus_count", 50);
-            out.addProperty("exp", xp);
-            out.addProperty("is_lock", 0);
-            out.addProperty("is_new", 1);
-            out.addProperty("get_time", Instant.now().getEpochSecond());
-            out.addProperty("skill_1_level", 2);
-            out.addProperty("ability_1_level", a1Level);
-            out.addProperty("ability_2_level", a2Level);
-            out.addProperty("limit_break_count", has5UB ? 5 : 4);
-        } else {
-            out.addProperty("dragon_key_id", keyIdMin + 200 * keyIdOffset);
-            out.addProperty("dragon_id", dragonData.getId());
-            out.addProperty("level", 1);
-            out.addProperty("hp_plus_count", 0);
-            out.addProperty("attack_plus_count", 0);
-            out.addProperty("exp", 0);
-            out.addProperty("is_lock", 0);
-            out.addProperty("is_new", 1);
-            out.addProperty("get_time", Instant.now().getEpochSecond());
-            out.addProperty("skill_1_level", 1);
-            out.addProperty("ability_1_level", 1);
-            out.addProperty("ability_2_level", dragonData.hasA2() ? 1 : 0);
-            out.addProperty("limit_break_count", 0);
-        }
+    private JsonObject buildDragon(DragonMeta dragonData, int keyId) {
+        boolean minDragon = !settings.maxAddedDragons();
+        JsonObject out = EntityTemplates.stamp(catalog.getDragonTemplate(dragonData.getId(), minDragon));
+        out.addProperty("dragon_key_id", keyId);
+        out.addProperty("get_time", sessionTime);
         return out;
     }
 
@@ -816,27 +377,9 @@ public class JsonUtils {
     //Takes in getTime and keyId info and returns maxed out dragon
     //Used to upgrade currently owned dragons
     private JsonObject buildDragon2(DragonMeta dragonData, int keyId, int getTime) {
-        JsonObject out = new JsonObject();
-        boolean has5UB = dragonData.has5UB();
-        int xp = dragonData.getMaxXp();
-        int level = dragonData.getMaxLevel();
-
-        int a1Level = dragonData.getA1Max();
-        int a2Level = dragonData.getA2Max();
-
+        JsonObject out = EntityTemplates.stamp(catalog.getDragonTemplate(dragonData.getId(), false));
         out.addProperty("dragon_key_id", keyId);
-        out.addProperty("dragon_id", dragonData.getId());
-        out.addProperty("level", level);
-        out.addProperty("hp_plus_count", 50);
-        out.addProperty("attack_plus_count", 50);
-        out.addProperty("exp", xp);
-        out.addProperty("is_lock", 0);
-        out.addProperty("is_new", 1);
         out.addProperty("get_time", getTime);
-        out.addProperty("skill_1_level", 2);
-        out.addProperty("ability_1_level", a1Level);
-        out.addProperty("ability_2_level", a2Level);
-        out.addProperty("limit_break_count", has5UB ? 5 : 4);
         return out;
     }
 
@@ -851,7 +394,7 @@ public class JsonUtils {
         return out;
     }
 
-    //build facility from existing facility
+    //build a facility at x, y (-1, -1 for facilities in inventory)
     private JsonObject buildFacility(FacilityMeta fac, int keyId, int x, int y){
         JsonObject out = new JsonObject();
 
@@ -871,34 +414,7 @@ public class JsonUtils {
         out.addProperty("plant_id", id);  //id
         out.addProperty("is_new", 0);
         out.addProperty("remain_time", 0);
-        out.addProperty("last_income_date", isResourceFacility ? (Instant.now().getEpochSecond()) : -1);  //resource facility
-        if(isResourceFacility){
-            out.addProperty("last_income_time", 200000);  //resource facility
-        }
-        return out;
-    }
-
-    //build a new facility
-    private JsonObject buildFacility(FacilityMeta fac, int keyIdMin, int keyIdOffset){
-        JsonObject out = new JsonObject();
-
-        boolean isResourceFacility = fac.isResourceFacility();
-        int level = fac.getMaxLevel();
-        int id = fac.getId();
-        int detailId = Integer.parseInt(fac.getDetailId());
-
-        out.addProperty("build_id", keyIdMin + 200 * keyIdOffset);  //key ID
-        out.addProperty("fort_plant_detail_id", detailId); //ID + level
-        out.addProperty("position_x", -1); //xz = -1 for facilities in inventory
-        out.addProperty("position_z", -1);
-        out.addProperty("build_status", 0);
-        out.addProperty("build_start_date", 0);
-        out.addProperty("build_end_date", 0);
-        out.addProperty("level", level);
-        out.addProperty("plant_id", id);  //id
-        out.addProperty("is_new", 0);
-        out.addProperty("remain_time", 0);
-        out.addProperty("last_income_date", isResourceFacility ? (Instant.now().getEpochSecond()) : -1);  //resource facility
+        out.addProperty("last_income_date", isResourceFacility ? sessionTime : -1);  //resource facility
         if(isResourceFacility){
             out.addProperty("last_income_time", 200000);  //resource facility
         }
@@ -906,210 +422,108 @@ public class JsonUtils {
     }
 
     private JsonObject buildWeapon(WeaponMeta weaponData, int getTime) {
-        JsonObject out = new JsonObject();
-        String weaponSeries = weaponData.getWeaponSeries();
-        int rarity = weaponData.getRarity();
-        if (rarity == 1) {
+        if (weaponData.getRarity() == 1) {
             return null; //unused weapons
         }
-
-        boolean isNullElement = weaponData.getElementId() == 99;
-
-        int level = 1;
-        int unbinds = 0;
-        int refines = 0;
-        int fiveStarSlotCount = 0;
-        int sindomSlotCount = 0;
-        //can't make copies of Mega Man collab weapons apparently...
-        int copiesCount = weaponData.getName().contains("Mega") ? 1 : 4;
-        switch (weaponSeries) {
-            case "Core":
-                switch (rarity) {
-                    case 3:
-                        level = 20;
-                        break;
-                    case 4:
-                        level = 30;
-                        break;
-                    case 5:
-                        level = 50;
-                        break;
-                }
-                unbinds = 4;
-                if (!isNullElement) {
-                    fiveStarSlotCount = 1;
-                }
-                break;
-            case "Void":
-            case "Chimeratech":
-            case "High Dragon":
-                level = 70;
-                unbinds = 8;
-                refines = 1;
-                fiveStarSlotCount = 1;
-                break;
-            case "Agito":
-                level = 90;
-                unbinds = 9;
-                refines = 2;
-                fiveStarSlotCount = 1;
-                sindomSlotCount = 2;
-                break;
-            case "Primal Dragon":
-                level = 80;
-                unbinds = 8;
-                refines = 1;
-                fiveStarSlotCount = 1;
-                sindomSlotCount = 2;
-                break;
-            case "Other":
-                //hard coded /shrug
-                if (weaponData.getName().contains("Mega")) {
-                    level = 50;
-                    unbinds = 4;
-                }
-                switch (weaponData.getName()) {
-                    case "Soldier's Brand":
-                        level = 10;
-                        unbinds = 4;
-                        break;
-                    case "Lucky Hanetsuki Paddle":
-                        level = 50;
-                        unbinds = 4;
-                        break;
-                }
-                break;
-        }
-
-        int passiveAbilityCount = weaponData.getPassiveAbilityIdList().size();
-        //too lazy to figure out mapping for these abilities + no one cares honestly
-        JsonArray voidWeaponAbilities = new JsonArray();
-
-        JsonArray emptyVoidWeaponAbilities = new JsonArray();
-        for (int i = 0; i < 15; i++) {
-            voidWeaponAbilities.add(i < passiveAbilityCount ? 1 : 0);
-            emptyVoidWeaponAbilities.add(0);
-        }
-
-        boolean minWeapon = getTime == -1 && !options.getFieldValue("maxAddedWeapons");
-
-        if (!minWeapon) {
-            out.addProperty("weapon_body_id", weaponData.getId());                      //ID
-            out.addProperty("buildup_count", level);                                    //level
-            out.addProperty("limit_break_count", unbinds);                              //unbinds
-            out.addProperty("limit_over_count", refines);                               //refines
-            out.addProperty("equipable_count", copiesCount);                            //equip count
-            out.addProperty("additional_crest_slot_type_1_count", fiveStarSlotCount);   //5* slot count
-            out.addProperty("additional_crest_slot_type_2_count", 0);
-            out.addProperty("additional_crest_slot_type_3_count", sindomSlotCount);     //sindom slot count
-            out.addProperty("additional_effect_count", 0);                         //?
-            out.add("unlock_weapon_passive_ability_no_list", voidWeaponAbilities);      //void weapon abilities?
-            out.addProperty("fort_passive_chara_weapon_buildup_count", weaponData.hasWeaponBonus() ? 1 : 0);        //weapon bonus
-            out.addProperty("is_new", 1);
-            out.addProperty("gettime", getTime == -1 ? Instant.now().getEpochSecond() : getTime);
-        } else {
-            out.addProperty("weapon_body_id", weaponData.getId());                      //ID
-            out.addProperty("buildup_count", 0);                                    //level
-            out.addProperty("limit_break_count", 0);                              //unbinds
-            out.addProperty("limit_over_count", 0);                               //refines
-            out.addProperty("equipable_count", 1);                            //equip count
-            out.addProperty("additional_crest_slot_type_1_count", 0);   //5* slot count
-            out.addProperty("additional_crest_slot_type_2_count", 0);
-            out.addProperty("additional_crest_slot_type_3_count", 0);     //sindom slot count
-            out.addProperty("additional_effect_count", 0);                         //?
-            out.add("unlock_weapon_passive_ability_no_list", emptyVoidWeaponAbilities);      //void weapon abilities?
-            out.addProperty("fort_passive_chara_weapon_buildup_count", 0);        //weapon bonus
-            out.addProperty("is_new", 1);
-            out.addProperty("gettime", Instant.now().getEpochSecond());
-        }
+        boolean minWeapon = getTime == -1 && !settings.maxAddedWeapons();
+        JsonObject out = EntityTemplates.stamp(catalog.getWeaponTemplate(weaponData.getId(), minWeapon));
+        out.addProperty("gettime", getTime == -1 ? sessionTime : getTime);
         return out;
     }
 
     private JsonObject buildWyrmprint(WyrmprintMeta printData, int getTime) {
-        JsonObject out = new JsonObject();
-        int rarity = printData.getRarity();
-        int level = 1;
-        int augmentCount = 0;
-
         //to add new print as a level 1 un-upgraded print
-        boolean minPrint = getTime == -1 && !options.getFieldValue("maxAddedWyrmprints");
-
-        switch (rarity) {
-            case 2:
-                level = 10;
-                augmentCount = 50;
-                break;
-            case 3:
-                level = 20;
-                augmentCount = 50;
-                break;
-            case 4:
-                level = 40;
-                augmentCount = 50;
-                break;
-            case 5:
-                level = 50;
-                augmentCount = 50;
-                break;
-            case 9: //sindom
-                level = 30;
-                augmentCount = 40;
-                break;
-        }
-        if (!minPrint) {
-            out.addProperty("ability_crest_id", printData.getId());
-            out.addProperty("buildup_count", level);
-            out.addProperty("limit_break_count", 4);
-            out.addProperty("equipable_count", 4);
-            out.addProperty("hp_plus_count", augmentCount);
-            out.addProperty("attack_plus_count", augmentCount);
-            out.addProperty("is_new", 1);
-            out.addProperty("is_favorite", 0);
-            out.addProperty("gettime", getTime == -1 ? Instant.now().getEpochSecond() : getTime);
-        } else {
-            out.addProperty("ability_crest_id", printData.getId());
-            out.addProperty("buildup_count", 0);
-            out.addProperty("limit_break_count", 0);
-            out.addProperty("equipable_count", 0);
-            out.addProperty("hp_plus_count", 0);
-            out.addProperty("attack_plus_count", 0);
-            out.addProperty("is_new", 1);
-            out.addProperty("is_favorite", 0);
-            out.addProperty("gettime", Instant.now().getEpochSecond());
-        }
+        boolean minPrint = getTime == -1 && !settings.maxAddedWyrmprints();
+        JsonObject out = EntityTemplates.stamp(catalog.getPrintTemplate(printData.getId(), minPrint));
+        out.addProperty("gettime", getTime == -1 ? sessionTime : getTime);
         return out;
     }
 
-    private void unlockAdventurerStory(int id) {
-        if (id == 10750102 || id == 10140101) {
-            return; //Mega Man, Euden have no stories to tell
-        }
-        //Compile list of adventurer stories in savedata
-        Set<Integer> ownedStories = new HashSet<>();
-        getFieldAsJsonArray("data", "unit_story_list").forEach(jsonEle ->
-                ownedStories.add(jsonEle.getAsJsonObject().get("unit_story_id").getAsInt()));
-
-        List<Integer> storyIDs = adventurerStoryMap.get(id);
-        for(int i = 0; i < 5; i ++){
-            int storyID = storyIDs.get(i);
-            if(ownedStories.contains(storyID)){
-                continue; //dont add story if u already have it
+    //unlocks the stories of all these adventurers, the ones you don't have yet are added to unit_story_list in one go
+    private void unlockAdventurerStories(List<Integer> ids) {
+        JsonArray newStories = new JsonArray();
+        IntSet newStoryIDs = new IntSet(ids.size() * 5);
+        for(int id : ids){
+            if (id == 10750102 || id == 10140101) {
+                continue; //Mega Man, Euden have no stories to tell
+            }
+            int[] storyIDs = catalog.getAdventurerStoryMap().get(id);
+            if (storyIDs == null) {
+                continue;
+            }
+            for(int storyID : storyIDs){
+                if(index.owns("unit_story_list", storyID) || !newStoryIDs.add(storyID)){
+                    continue; //dont add story if u already have it
+                }
+                JsonObject story = new JsonObject();
+                story.addProperty("unit_story_id", storyID);
+                story.addProperty("is_read", 0);
+                newStories.add(story);
             }
-            JsonObject story = new JsonObject();
-            story.addProperty("unit_story_id", storyID);
-            story.addProperty("is_read", 0);
-            getFieldAsJsonArray("data", "unit_story_list").add(story);
         }
+        index.addAll("unit_story_list", newStories);
     }
 
     // Hacked Utils \\
 
-    private void addHackedUnit(int id){
-        Set<Integer> ownedIdSet = getSetFromField("chara_id", "data", "chara_list");
-        if(ownedIdSet.contains(id)){
-            return; //dont add if u already have it
+    //Adds all these units in one go. Ones you already have (or that are listed twice) are skipped.
+    //Returns how many were added
+    public int addHackedUnits(List<Integer> ids){
+        JsonArray newUnits = new JsonArray();
+        IntSet newIDs = new IntSet(ids.size());
+        for(int id : ids){
+            if(index.owns("chara_list", id) || !newIDs.add(id)){
+                continue; //dont add if u already have it
+            }
+            newUnits.add(buildHackedUnit(id));
+        }
+        if(newUnits.size() != 0){
+            index.addAll("chara_list", newUnits);
+        }
+        return newUnits.size();
+    }
+
+    //Adds all these dragons in one go, on a block of key IDs. Ones you already have (or that are listed twice) are skipped.
+    //The roster capacity is raised once for the whole batch; if it's maxed out, only the ones that fit are added.
+    //Returns how many were added
+    public int addHackedDragons(List<Integer> ids){
+        List<Integer> newIDs = new ArrayList<>();
+        IntSet seen = new IntSet(ids.size());
+        for(int id : ids){
+            if(!index.owns("dragon_list", id) && seen.add(id)){
+                newIDs.add(id);
+            }
+        }
+        if(newIDs.isEmpty()){
+            return 0;
+        }
+        //make room, 5 at a time like the game does
+        int dragonListSize = index.size("dragon_list");
+        int dragonListCapacity = maxDragonQuantity.getInt(jsonData);
+        int neededCapacity = dragonListSize + newIDs.size();
+        if(neededCapacity > dragonListCapacity){
+            int raisedCapacity = dragonListCapacity + (neededCapacity - dragonListCapacity + 4) / 5 * 5;
+            raisedCapacity = Math.max(dragonListCapacity, Math.min(raisedCapacity, MAX_DRAGON_CAPACITY));
+            if(raisedCapacity != dragonListCapacity){
+                maxDragonQuantity.set(jsonData, raisedCapacity);
+            }
+            int fits = Math.max(0, raisedCapacity - dragonListSize);
+            if(fits < newIDs.size()){
+                log("Dragon roster capacity is maxed! Only added " + fits + " of " + newIDs.size() + " hacked dragons.");
+                newIDs = newIDs.subList(0, fits);
+            }
         }
-        getField("data", "chara_list").getAsJsonArray().add(buildHackedUnit(id));
+        KeyAllocator dragonKeys = index.getKeyAllocator("dragon_list");
+        int keyId = dragonKeys.reserve(newIDs.size());
+        JsonArray newDragons = new JsonArray();
+        for(int id : newIDs){
+            newDragons.add(buildHackedDragon(id, keyId));
+            keyId += dragonKeys.getStep();
+        }
+        if(newDragons.size() != 0){
+            index.addAll("dragon_list", newDragons);
+        }
+        return newDragons.size();
     }
 
     //Returns a built adventurer in savedata.txt format
@@ -1144,7 +558,7 @@ public class JsonUtils {
         out.addProperty("attack_plus_count", 100);
         out.addProperty("limit_break_count", 5);
         out.addProperty("is_new", 1);
-        out.addProperty("gettime", Instant.now().getEpochSecond());
+        out.addProperty("gettime", sessionTime);
         out.addProperty("skill_1_level", s1Level);
         out.addProperty("skill_2_level", 1);
         out.addProperty("ability_1_level", 1);
@@ -1163,11 +577,9 @@ public class JsonUtils {
         return out;
     }
 
-    private JsonObject buildHackedDragon(int id) {
+    private JsonObject buildHackedDragon(int id, int keyId) {
         JsonObject out = new JsonObject();
-        int keyIdMax = getMaxFromObjListField("dragon_key_id", "data", "dragon_list");
-
-        out.addProperty("dragon_key_id", keyIdMax + 10);
+        out.addProperty("dragon_key_id", keyId);
         out.addProperty("dragon_id", id);
         out.addProperty("level", 100);
         out.addProperty("hp_plus_count", 50);
@@ -1175,7 +587,7 @@ public class JsonUtils {
         out.addProperty("exp", 1240020);
         out.addProperty("is_lock", 0);
         out.addProperty("is_new", 1);
-        out.addProperty("get_time", Instant.now().getEpochSecond());
+        out.addProperty("get_time", sessionTime);
         out.addProperty("skill_1_level", 2);
         out.addProperty("ability_1_level", 1);
         out.addProperty("ability_2_level", 1);
@@ -1192,49 +604,51 @@ public class JsonUtils {
     }
 
     public void plunderDonkay() {
+        setWyrmites();
+        plunderSummonTickets();
+    }
+
+    public void setWyrmites() {
         writeInteger(710_000, "data", "user_data", "crystal");
+    }
 
-        int keyIdMax = 0;
+    public void plunderSummonTickets() {
         JsonArray ticketsList = getFieldAsJsonArray("data", "summon_ticket_list");
         boolean foundSingles = false;
         boolean foundTenfolds = false;
         for (JsonElement jsonEle : ticketsList){
             JsonObject ticketCount = jsonEle.getAsJsonObject();
             int id = ticketCount.get("summon_ticket_id").getAsInt();
-            int keyId = ticketCount.get("key_id").getAsInt();
             int quantity = ticketCount.get("quantity").getAsInt();
 
             if(id == 10101){
                 foundSingles = true;
                 if(quantity < 2600){
-                    ticketCount.remove("quantity");
                     ticketCount.addProperty("quantity", 2600);
                 }
             } else if(id == 10102){
                 foundTenfolds = true;
                 if(quantity < 170){
-                    ticketCount.remove("quantity");
                     ticketCount.addProperty("quantity", 170);
                 }
             }
-            keyIdMax = Math.max(keyIdMax, keyId);
         }
         //eh
         if(!foundSingles){
             JsonObject newTicketCount = new JsonObject();
-            newTicketCount.addProperty("key_id", keyIdMax + 200);
+            newTicketCount.addProperty("key_id", index.getKeyAllocator("summon_ticket_list").next());
             newTicketCount.addProperty("summon_ticket_id", 10101);
             newTicketCount.addProperty("quantity", 2600);
             newTicketCount.addProperty("use_limit_time", 0);
-            ticketsList.add(newTicketCount);
+            index.add("summon_ticket_list", newTicketCount);
         }
         if(!foundTenfolds){
             JsonObject newTicketCount = new JsonObject();
-            newTicketCount.addProperty("key_id", keyIdMax + 400);
+            newTicketCount.addProperty("key_id", index.getKeyAllocator("summon_ticket_list").next());
             newTicketCount.addProperty("summon_ticket_id", 10102);
             newTicketCount.addProperty("quantity", 170);
             newTicketCount.addProperty("use_limit_time", 0);
-            ticketsList.add(newTicketCount);
+            index.add("summon_ticket_list", newTicketCount);
         }
     }
 
@@ -1243,44 +657,75 @@ public class JsonUtils {
     }
 
     public int addMissingAdventurers() {
-        int count = 0;
+        return applyMissingAdventurers(planMissingAdventurers(index.getIds("chara_list"), catalog.getIdToAdventurer().values()));
+    }
 
-        //Compile a list of ID's you have
-        Set<Integer> ownedIdSet = getSetFromField("chara_id", "data", "chara_list");
+    //the filtered versions only go through the catalog entries that match (see CatalogFilter)
+    public int addMissingAdventurers(CatalogFilter filter) {
+        return applyMissingAdventurers(planMissingAdventurers(index.getIds("chara_list"), catalog.findAdventurers(filter)));
+    }
 
+    //the planX() methods only read the catalog and ownedIDs, the applyX() ones do all the writing (see completeCollection())
+    private Additions<AdventurerMeta> planMissingAdventurers(IntSet ownedIDs, Collection<AdventurerMeta> adventurers) {
+        Additions<AdventurerMeta> out = new Additions<>();
         //Go through a list of all the adventurers in the game
-        for(Map.Entry<Integer, AdventurerMeta> entry : idToAdventurer.entrySet()){
-            int id = entry.getKey();
-            AdventurerMeta adventurer = entry.getValue();
-            if (!ownedIdSet.contains(id)) { //If you don't own this adventurer
+        for(AdventurerMeta adventurer : adventurers){
+            if (!ownedIDs.contains(adventurer.getId())) { //If you don't own this adventurer
                 //Construct new unit (Does this unit have a mana spiral?)
                 JsonObject newUnit = buildUnit(adventurer, -1);
-                //Add it to your roster
                 if (newUnit != null) {
-                    getField("data", "chara_list").getAsJsonArray().add(newUnit);
-                    unlockAdventurerStory(id);
-                    addAdventurerEncyclopediaBonus(adventurer);
-                    count++;
-                    write(adventurer.getName());
+                    out.add(adventurer, newUnit);
                 }
             }
         }
+        return out;
+    }
+
+    private int applyMissingAdventurers(Additions<AdventurerMeta> additions) {
+        List<Integer> addedIDs = new ArrayList<>();
+        //Add them to your roster
+        if (!additions.isEmpty()) {
+            index.addAll("chara_list", additions.getEntries());
+        }
+        for (AdventurerMeta adventurer : additions.getMetas()) {
+            addedIDs.add(adventurer.getId());
+            addAdventurerEncyclopediaBonus(adventurer);
+            write(adventurer.getName());
+        }
+        unlockAdventurerStories(addedIDs);
         flushLog("Added adventurers");
-        return count;
+        return additions.size();
     }
 
+    //takes the exact name/alias or a prefix only one adventurer has ("nefa" --> Nefaria).
+    //Anything else (typos) only gets suggestions, so nothing is added on a guess
     public void addAdventurer(String advName) {
-        AdventurerMeta advData = nameToAdventurer.get(advName);
+        AdventurerMeta advData = catalog.getNameToAdventurer().get(advName);
         if (advData == null) {
-            System.out.println("Can't find adventurer with name '" + advName + "'. Try again!");
+            advData = catalog.getAdventurerNames().resolve(advName);
+        }
+        if (advData == null) {
+            System.out.println(cantFind("adventurer", advName, catalog.getAdventurerNames(), AdventurerMeta::getName));
             return;
         }
-        //Compile a list of ID's you have
-        Set<Integer> ownedIdSet = getSetFromField("chara_id", "data", "chara_list");
+        addAdventurer(advData);
+    }
 
+    //a pasted list of names, e.g. "nefaria, gala luca, lathna" (one name works too)
+    public void addAdventurers(String advNames) {
+        catalog.getAdventurerNames().resolveAll(advNames).forEach((advName, advData) -> {
+            if (advData == null) {
+                System.out.println(cantFind("adventurer", advName, catalog.getAdventurerNames(), AdventurerMeta::getName));
+            } else {
+                addAdventurer(advData);
+            }
+        });
+    }
+
+    private void addAdventurer(AdventurerMeta advData) {
         int id = advData.getId();
         String name = advData.getName();
-        if (ownedIdSet.contains(id)) {
+        if (index.owns("chara_list", id)) {
             System.out.println("You already own '" + name + "'!");
             return;
         }
@@ -1288,141 +733,182 @@ public class JsonUtils {
         JsonObject newUnit = buildUnit(advData, -1);
         //Add it to your roster
         if (newUnit != null) {
-            getField("data", "chara_list").getAsJsonArray().add(newUnit);
-            unlockAdventurerStory(id);
+            index.add("chara_list", newUnit);
+            unlockAdventurerStories(Collections.singletonList(id));
             addAdventurerEncyclopediaBonus(advData);
             System.out.println("Added '" + name + "'!");
         }
     }
 
     public int addMissingWyrmprints() {
-        int count = 0;
-        //Compile a list of ID's you have
-        Set<Integer> ownedIdSet = getSetFromField("ability_crest_id", "data", "ability_crest_list");
+        return applyMissingWyrmprints(planMissingWyrmprints(index.getIds("ability_crest_list"), catalog.getIdToPrint().values()));
+    }
 
+    public int addMissingWyrmprints(CatalogFilter filter) {
+        return applyMissingWyrmprints(planMissingWyrmprints(index.getIds("ability_crest_list"), catalog.findPrints(filter)));
+    }
+
+    private Additions<WyrmprintMeta> planMissingWyrmprints(IntSet ownedIDs, Collection<WyrmprintMeta> wyrmprints) {
+        Additions<WyrmprintMeta> out = new Additions<>();
         //Go through a list of all the wyrmprints in the game
-        for (Map.Entry<Integer, WyrmprintMeta> entry : idToPrint.entrySet()) {
-            WyrmprintMeta wyrmprint = entry.getValue();
-            int id = entry.getKey();
-            if (!ownedIdSet.contains(id)) { //If you don't own this print
+        for (WyrmprintMeta wyrmprint : wyrmprints) {
+            if (!ownedIDs.contains(wyrmprint.getId())) { //If you don't own this print
                 //Construct new print
-                JsonObject newPrint = buildWyrmprint(wyrmprint, -1);
-                //Add it to your inventory
-                getField("data", "ability_crest_list").getAsJsonArray().add(newPrint);
-                count++;
-                write(wyrmprint.getName() + "(" + wyrmprint.getRarity() + "*)");
+                out.add(wyrmprint, buildWyrmprint(wyrmprint, -1));
             }
         }
+        return out;
+    }
+
+    private int applyMissingWyrmprints(Additions<WyrmprintMeta> additions) {
+        //Add them to your inventory
+        if (!additions.isEmpty()) {
+            index.addAll("ability_crest_list", additions.getEntries());
+        }
+        for (WyrmprintMeta wyrmprint : additions.getMetas()) {
+            write(wyrmprint.getName() + "(" + wyrmprint.getRarity() + "*)");
+        }
         flushLog("Added wyrmprints");
-        return count;
+        return additions.size();
     }
 
     //return response message
     public String addMissingDragons(boolean toExcludeLowRarityDragons) {
-        int count = 0;
-        int expandAmount = 0;
-        int keyIdMax = getMaxFromObjListField("dragon_key_id", "data", "dragon_list");
+        return applyMissingDragons(planMissingDragons(index.getIds("dragon_list"), catalog.getIdToDragon().values(), toExcludeLowRarityDragons));
+    }
 
-        //Compile a list of ID's you have
-        Set<Integer> ownedIdSet = getSetFromField("dragon_id", "data", "dragon_list");
-        //Compile a list of ID's from your encyclopedia
-        Set<Integer> albumIDSet = getSetFromField("dragon_id", "data", "album_dragon_list");
+    public String addMissingDragons(CatalogFilter filter) {
+        return applyMissingDragons(planMissingDragons(index.getIds("dragon_list"), catalog.findDragons(filter), false));
+    }
 
+    //key IDs are handed out when the dragons are applied, the roster might fill up before they're all added
+    private Additions<DragonMeta> planMissingDragons(IntSet ownedIDs, Collection<DragonMeta> dragons, boolean toExcludeLowRarityDragons) {
+        Additions<DragonMeta> out = new Additions<>();
         //Go through a list of all the dragons in the game
-        for (Map.Entry<Integer, DragonMeta> entry : idToDragon.entrySet()) {
-            DragonMeta dragon = entry.getValue();
-            int id = dragon.getId();
+        for (DragonMeta dragon : dragons) {
             int rarity = dragon.getRarity();
             if (toExcludeLowRarityDragons && (rarity == 3 || rarity == 4)) {
                 continue; //maybe ignore low rarity dragons
             }
-            if (!ownedIdSet.contains(id)) { //If you don't own this dragon
+            if (!ownedIDs.contains(dragon.getId())) { //If you don't own this dragon
                 //Construct new dragon (Does this dragon have 5UB?)
-                JsonObject newDragon = buildDragon(dragon, keyIdMax, count + 1);
-                //Add it to your roster
-                int dragonListSize = getFieldAsJsonArray("data", "dragon_list").size();
-                int dragonListCapacity = getFieldAsInt("data", "user_data", "max_dragon_quantity");
-                if (dragonListSize == dragonListCapacity) {           //if dragon roster is full...
-                    if (dragonListCapacity == MAX_DRAGON_CAPACITY) {  //if dragon capacity is maxed... can't do anything
-                        return "Dragon roster capacity is maxed! Unable to add new dragons...";
-                    } else {                                        //expand dragon capacity if able to
-                        writeInteger(dragonListCapacity + 5, "data", "user_data", "max_dragon_quantity");
-                        expandAmount += 5;
-                    }
+                out.add(dragon, buildDragon(dragon, 0));
+            }
+        }
+        return out;
+    }
+
+    private String applyMissingDragons(Additions<DragonMeta> additions) {
+        int count = 0;
+        int expandAmount = 0;
+        KeyAllocator dragonKeys = index.getKeyAllocator("dragon_list");
+        String capacityMessage = null;
+
+        for (int i = 0; i < additions.size(); i++) {
+            DragonMeta dragon = additions.getMeta(i);
+            int id = dragon.getId();
+            JsonObject newDragon = additions.getEntry(i);
+            newDragon.addProperty("dragon_key_id", dragonKeys.next());
+            //Add it to your roster
+            int dragonListSize = index.size("dragon_list");
+            int dragonListCapacity = maxDragonQuantity.getInt(jsonData);
+            if (dragonListSize == dragonListCapacity) {           //if dragon roster is full...
+                if (dragonListCapacity == MAX_DRAGON_CAPACITY) {  //if dragon capacity is maxed... can't do anything
+                    capacityMessage = "Dragon roster capacity is maxed! Unable to add new dragons...";
+                    break;
+                } else {                                        //expand dragon capacity if able to
+                    maxDragonQuantity.set(jsonData, dragonListCapacity + 5);
+                    expandAmount += 5;
                 }
-                getFieldAsJsonArray("data", "dragon_list").add(newDragon);
-
-                //If you've never owned this dragon before
-                if (!albumIDSet.contains(id)) {
-                    //Add to encyclopedia
-                    getFieldAsJsonArray("data", "album_dragon_list").add(buildDragonAlbumData(dragon));
-                    addDragonEncyclopediaBonus(dragon);
-                    //Add dragon bond obj
-                    if (id != 20050522) { //Arsene check
-                        JsonObject dragonBond = new JsonObject();
-                        dragonBond.addProperty("dragon_id", id);
-                        dragonBond.addProperty("gettime", Instant.now().getEpochSecond());
-                        dragonBond.addProperty("reliability_level", 30);
-                        dragonBond.addProperty("reliability_total_exp", 36300);
-                        dragonBond.addProperty("last_contact_time", Instant.now().getEpochSecond());
-                        getField("data", "dragon_reliability_list").getAsJsonArray().add(dragonBond);
-                    }
+            }
+            index.add("dragon_list", newDragon);
+
+            //If you've never owned this dragon before
+            if (!index.owns("album_dragon_list", id)) {
+                //Add to encyclopedia
+                index.add("album_dragon_list", buildDragonAlbumData(dragon));
+                addDragonEncyclopediaBonus(dragon);
+                //Add dragon bond obj
+                if (id != 20050522) { //Arsene check
+                    JsonObject dragonBond = new JsonObject();
+                    dragonBond.addProperty("dragon_id", id);
+                    dragonBond.addProperty("gettime", sessionTime);
+                    dragonBond.addProperty("reliability_level", 30);
+                    dragonBond.addProperty("reliability_total_exp", 36300);
+                    dragonBond.addProperty("last_contact_time", sessionTime);
+                    dragonReliabilityList.getArray(jsonData).add(dragonBond);
                 }
-                count++;
-                write(dragon.getName() + "(" + dragon.getRarity() + "*)");
             }
+            count++;
+            write(dragon.getName() + "(" + dragon.getRarity() + "*)");
         }
         flushLog("Added dragons");
+        if (capacityMessage != null) {
+            return capacityMessage;
+        }
         return expandAmount == 0 ?
                 "Added " + count + " missing dragons." :
                 "Added " + count + " missing dragons. Dragon inventory capacity was raised by " + expandAmount + ".";
     }
 
+    //same as addAdventurer(): exact name/alias or unique prefix, typos only get suggestions
     public void addDragon(String drgName) {
-        int expandAmount = 0;
-        int keyIdMax = getMaxFromObjListField("dragon_key_id", "data", "dragon_list");
-
-        //Compile a list of ID's from your encyclopedia
-        Set<Integer> albumIDSet = getSetFromField("dragon_id", "data", "album_dragon_list");
-
-        DragonMeta drgData = nameToDragon.get(drgName);
+        DragonMeta drgData = catalog.getNameToDragon().get(drgName);
         if (drgData == null) {
-            System.out.println("Can't find dragon with name '" + drgName + "'. Try again!");
+            drgData = catalog.getDragonNames().resolve(drgName);
+        }
+        if (drgData == null) {
+            System.out.println(cantFind("dragon", drgName, catalog.getDragonNames(), DragonMeta::getName));
             return;
         }
+        addDragon(drgData);
+    }
+
+    public void addDragons(String drgNames) {
+        catalog.getDragonNames().resolveAll(drgNames).forEach((drgName, drgData) -> {
+            if (drgData == null) {
+                System.out.println(cantFind("dragon", drgName, catalog.getDragonNames(), DragonMeta::getName));
+            } else {
+                addDragon(drgData);
+            }
+        });
+    }
+
+    private void addDragon(DragonMeta drgData) {
+        int expandAmount = 0;
         int id = drgData.getId();
         String name = drgData.getName();
 
         //Construct new dragon (Does this dragon have 5UB?)
-        JsonObject newDragon = buildDragon(drgData, keyIdMax, 1);
+        JsonObject newDragon = buildDragon(drgData, index.getKeyAllocator("dragon_list").next());
         //Add it to your roster
-        int dragonListSize = getFieldAsJsonArray("data", "dragon_list").size();
-        int dragonListCapacity = getFieldAsInt("data", "user_data", "max_dragon_quantity");
+        int dragonListSize = index.size("dragon_list");
+        int dragonListCapacity = maxDragonQuantity.getInt(jsonData);
         if (dragonListSize == dragonListCapacity) {           //if dragon roster is full...
             if (dragonListCapacity == MAX_DRAGON_CAPACITY) {  //if dragon capacity is maxed... can't do anything
                 System.out.println("Dragon roster capacity is maxed! Unable to add new dragons...");
                 return;
             } else {                                        //expand dragon capacity if able to
-                writeInteger(dragonListCapacity + 5, "data", "user_data", "max_dragon_quantity");
+                maxDragonQuantity.set(jsonData, dragonListCapacity + 5);
                 expandAmount += 5;
             }
         }
-        getFieldAsJsonArray("data", "dragon_list").add(newDragon);
+        index.add("dragon_list", newDragon);
 
         //If you've never owned this dragon before
-        if (!albumIDSet.contains(id)) {
+        if (!index.owns("album_dragon_list", id)) {
             //Add to encyclopedia
-            getFieldAsJsonArray("data", "album_dragon_list").add(buildDragonAlbumData(drgData));
+            index.add("album_dragon_list", buildDragonAlbumData(drgData));
             addDragonEncyclopediaBonus(drgData);
             //Add dragon bond obj
             if (id != 20050522) { //Arsene check
                 JsonObject dragonBond = new JsonObject();
                 dragonBond.addProperty("dragon_id", id);
-                dragonBond.addProperty("gettime", Instant.now().getEpochSecond());
+                dragonBond.addProperty("gettime", sessionTime);
                 dragonBond.addProperty("reliability_level", 1);
                 dragonBond.addProperty("reliability_total_exp", 0);
-                dragonBond.addProperty("last_contact_time", Instant.now().getEpochSecond());
-                getField("data", "dragon_reliability_list").getAsJsonArray().add(dragonBond);
+                dragonBond.addProperty("last_contact_time", sessionTime);
+                dragonReliabilityList.getArray(jsonData).add(dragonBond);
             }
         }
 
@@ -1432,21 +918,30 @@ public class JsonUtils {
         System.out.println(out);
     }
 
-    public void addItems() {
-        JsonArray items = getFieldAsJsonArray("data", "material_list");
-        for (JsonElement jsonEle : items) {
-            JsonObject jsonObj = jsonEle.getAsJsonObject();
-            int count = jsonObj.get("quantity").getAsInt();
-            if (count <= 30000) {
-                jsonObj.remove("quantity");
-                jsonObj.addProperty("quantity", 30000);
-            }
+    //"Can't find dragon with name 'X'. Did you mean: A, B? Try again!"
+    private static <T> String cantFind(String kind, String name, NameIndex<T> names, Function<T, String> getName) {
+        List<String> suggestions = new ArrayList<>();
+        for (T meta : names.search(name, 5)) {
+            suggestions.add(getName.apply(meta));
         }
-        Set<Integer> ownedIdSet = getSetFromField("material_id", "data", "material_list");
-        for(Map.Entry<Integer, MaterialMeta> entry : idToMaterial.entrySet()){
-            int id = entry.getKey();
-            MaterialMeta mat = entry.getValue();
-            if(!ownedIdSet.contains(id)){
+        return "Can't find " + kind + " with name '" + name + "'." +
+                (suggestions.isEmpty() ? "" : " Did you mean: " + String.join(", ", suggestions) + "?") + " Try again!";
+    }
+
+    public void addItems() {
+        addMaterials();
+        addDragonGifts();
+    }
+
+    public void addMaterials() {
+        applyMaterials(planMissingMaterials(index.getIds("material_list")));
+    }
+
+    private Additions<MaterialMeta> planMissingMaterials(IntSet ownedIDs) {
+        Additions<MaterialMeta> out = new Additions<>();
+        for(MaterialMeta mat : catalog.getIdToMaterial().values()){
+            int id = mat.getId();
+            if(!ownedIDs.contains(id)){
                 switch(mat.getCategory()){ //ignore certain items
                     case "Raid":
                     case "Raid, Collab":
@@ -1457,12 +952,32 @@ public class JsonUtils {
                 JsonObject newItem = new JsonObject();
                 newItem.addProperty("material_id", id);
                 newItem.addProperty("quantity", 30000);
-                items.add(newItem);
-                write(mat.getName());
+                out.add(mat, newItem);
+            }
+        }
+        return out;
+    }
+
+    //tops up the materials you have, then adds the missing ones
+    private void applyMaterials(Additions<MaterialMeta> additions) {
+        JsonArray items = getFieldAsJsonArray("data", "material_list");
+        for (JsonElement jsonEle : items) {
+            JsonObject jsonObj = jsonEle.getAsJsonObject();
+            int count = jsonObj.get("quantity").getAsInt();
+            if (count <= 30000) {
+                jsonObj.addProperty("quantity", 30000);
             }
         }
+        if (!additions.isEmpty()) {
+            index.addAll("material_list", additions.getEntries());
+        }
+        for (MaterialMeta mat : additions.getMetas()) {
+            write(mat.getName());
+        }
         flushLog("Added materials");
+    }
 
+    public void addDragonGifts() {
         int[] giftIds = new int[]{30001, 30002, 30003, 40001};
         JsonArray giftList = new JsonArray();
         for (Integer giftId : giftIds) {
@@ -1471,96 +986,209 @@ public class JsonUtils {
             gift.addProperty("quantity", 3000);
             giftList.add(gift);
         }
-        getFieldAsJsonObject("data").remove("dragon_gift_list");
         getFieldAsJsonObject("data").add("dragon_gift_list", giftList);
 
         flushLog("Added dragon gifts");
     }
 
     public void backToTheMines() {
+        PartyRefs partyRefs = new PartyRefs(jsonData);
+        Map<Integer, List<Integer>> equippedKscapes = getEquippedKscapes(partyRefs);
+        buildKscapeInventory();
+        reequipTalismans(partyRefs, equippedKscapes);
+    }
+
+    //replaces the talisman list, without looking at the old one
+    public void buildKscapeInventory() {
         //for each kscape combo, put new kscape print data for each ele-weapon combo
 
         String[][] kscapeCombos = KscapeCombos.KSCAPES;
         String[][] kscapeLabels = KscapeCombos.KSCAPE_LABELS;
-        int keyIdOffset = 1;
-        JsonObject jsonData = getField("data").getAsJsonObject();
-        jsonData.remove("talisman_list");
-        JsonArray talismans = new JsonArray();
+        index.replace("talisman_list", new JsonArray()); //replaces the old list in place, so it keeps its spot in the save
+        KeyAllocator kscapeKeys = new KeyAllocator(index, "talisman_list", 100, 200000);
         for (String[] kscapeCombo : kscapeCombos) {
             //for each ele-wep combo
             for (String[] kscapeLabel : kscapeLabels) {
                 for (String label : kscapeLabel) {
-                    talismans.add(buildTalisman(label, kscapeCombo, keyIdOffset));
-                    keyIdOffset++;
+                    index.add("talisman_list", buildTalisman(label, kscapeCombo, kscapeKeys.next()));
                 }
             }
 
         }
-        jsonData.add("talisman_list", talismans);
+    }
+
+    //delete equipped kscapes, since old kscape ID's will now point to
+    //a kscape that no longer exists
+    public void unequipTalismans() {
+        new PartyRefs(jsonData).clearAll(PartyRefs.TALISMAN);
+    }
+
+    //talisman key ID --> which kscape it is (see kscapeBuild()), for the kscapes some party has equipped
+    private Map<Integer, List<Integer>> getEquippedKscapes(PartyRefs partyRefs) {
+        Map<Integer, List<Integer>> out = new HashMap<>();
+        Set<Integer> equippedKeys = partyRefs.getReferencedKeys(PartyRefs.TALISMAN);
+        JsonObject data = getFieldAsJsonObject("data");
+        if (equippedKeys.isEmpty() || !data.has("talisman_list")) {
+            return out;
+        }
+        for (JsonElement jsonEle : data.getAsJsonArray("talisman_list")) {
+            JsonObject talisman = jsonEle.getAsJsonObject();
+            int keyId = talisman.get("talisman_key_id").getAsInt();
+            if (equippedKeys.contains(keyId)) {
+                out.putIfAbsent(keyId, kscapeBuild(talisman));
+            }
+        }
+        return out;
+    }
+
+    //{portrait (talisman_id), ability 1, ability 2, ability 3}: two kscapes with the same build are the same kscape
+    private static List<Integer> kscapeBuild(JsonObject talisman) {
+        List<Integer> out = new ArrayList<>(4);
+        out.add(talisman.get("talisman_id").getAsInt());
+        for (int i = 1; i <= 3; i++) {
+            JsonElement abilityID = talisman.get("talisman_ability_id_" + i);
+            out.add(abilityID == null ? 0 : abilityID.getAsInt());
+        }
+        return out;
+    }
 
-        //delete equipped kscapes, since old kscape ID's will now point to
-        //a kscape that no longer exists
-        JsonArray partyList = getFieldAsJsonArray("data", "party_list");
-        for (JsonElement jsonEle : partyList) {
-            JsonObject party = jsonEle.getAsJsonObject();
-            for (JsonElement jsonEle2 : party.getAsJsonArray("party_setting_list")) {
-                JsonObject adventurer = jsonEle2.getAsJsonObject();
-                adventurer.remove("equip_talisman_key_id");
-                adventurer.addProperty("equip_talisman_key_id", 0);
+    //After the talisman list was replaced, only the slots that had a kscape equipped are touched.
+    //They keep it if the new list still has the exact same kscape (portrait and all 3 abilities) under that key ID,
+    //switch to the new key ID of the same kscape if it's somewhere else in the list, and are unequipped otherwise.
+    //A kscape of the same portrait with other abilities doesn't count, that'd quietly change the team's build
+    private void reequipTalismans(PartyRefs partyRefs, Map<Integer, List<Integer>> equippedKscapes) {
+        Map<Integer, List<Integer>> kscapesNow = getEquippedKscapes(partyRefs);
+        //equipped build --> first key ID in the new list that has it
+        Set<List<Integer>> equippedBuilds = new HashSet<>(equippedKscapes.values());
+        Map<List<Integer>, Integer> newKeys = new HashMap<>();
+        if (!equippedBuilds.isEmpty()) {
+            for (JsonElement jsonEle : getFieldAsJsonArray("data", "talisman_list")) {
+                JsonObject talisman = jsonEle.getAsJsonObject();
+                List<Integer> build = kscapeBuild(talisman);
+                if (equippedBuilds.contains(build)) {
+                    newKeys.putIfAbsent(build, talisman.get("talisman_key_id").getAsInt());
+                }
             }
         }
+        partyRefs.remapAll(PartyRefs.TALISMAN, keyId -> {
+            List<Integer> build = equippedKscapes.get(keyId);
+            if (build == null) {
+                return 0; //wasn't a kscape you had anyway
+            }
+            if (build.equals(kscapesNow.get(keyId))) {
+                return keyId;
+            }
+            return newKeys.getOrDefault(build, 0);
+        });
     }
 
     public int addMissingWeaponSkins() {
-        int count = 0;
-        Set<Integer> ownedWeaponSkinIDs = getSetFromField("weapon_skin_id", "data", "weapon_skin_list");
+        return applyMissingWeaponSkins(planMissingWeaponSkins(index.getIds("weapon_skin_list")));
+    }
 
-        for (Map.Entry<Integer, String> entry : idToWeaponSkinName.entrySet()) {
-            int weaponSkinId = entry.getKey();
-            if (!ownedWeaponSkinIDs.contains(weaponSkinId)) {
+    private Additions<String> planMissingWeaponSkins(IntSet ownedIDs) {
+        Additions<String> out = new Additions<>();
+        IntMap<String> idToWeaponSkinName = catalog.getIdToWeaponSkinName();
+        for (int weaponSkinId : idToWeaponSkinName.keys()) {
+            if (!ownedIDs.contains(weaponSkinId)) {
                 JsonObject newWeaponSkin = new JsonObject();
                 newWeaponSkin.addProperty("weapon_skin_id", weaponSkinId);
                 newWeaponSkin.addProperty("is_new", 1);
-                newWeaponSkin.addProperty("gettime", Instant.now().getEpochSecond());
-                getFieldAsJsonArray("data", "weapon_skin_list").add(newWeaponSkin);
-                count++;
-                write(entry.getValue().replace(" (Skin)", ""));
+                newWeaponSkin.addProperty("gettime", sessionTime);
+                out.add(idToWeaponSkinName.get(weaponSkinId), newWeaponSkin);
             }
         }
+        return out;
+    }
+
+    private int applyMissingWeaponSkins(Additions<String> additions) {
+        if (!additions.isEmpty()) {
+            index.addAll("weapon_skin_list", additions.getEntries());
+        }
+        for (String name : additions.getMetas()) {
+            write(name.replace(" (Skin)", ""));
+        }
         flushLog("Added weapon skins");
-        return count;
+        return additions.size();
     }
 
     public int addMissingWeapons() {
-        int count = 0;
-        //Compile a set of ID's you have
-        Set<Integer> ownedIdSet = getSetFromField("weapon_body_id", "data", "weapon_body_list");
+        return applyMissingWeapons(planMissingWeapons(index.getIds("weapon_body_list"), catalog.getIdToWeapon().values()));
+    }
+
+    public int addMissingWeapons(CatalogFilter filter) {
+        return applyMissingWeapons(planMissingWeapons(index.getIds("weapon_body_list"), catalog.findWeapons(filter)));
+    }
 
+    private Additions<WeaponMeta> planMissingWeapons(IntSet ownedIDs, Collection<WeaponMeta> weapons) {
+        Additions<WeaponMeta> out = new Additions<>();
         //Go through a list of all the weapons in the game
-        for (Map.Entry<Integer, WeaponMeta> entry : idToWeapon.entrySet()) {
-            WeaponMeta weapon = entry.getValue();
-            int id = entry.getKey();
-            if (!ownedIdSet.contains(id)) { //If you don't own this weapon
+        for (WeaponMeta weapon : weapons) {
+            if (!ownedIDs.contains(weapon.getId())) { //If you don't own this weapon
                 //Construct new weapon
                 JsonObject newWeapon = buildWeapon(weapon, -1);
-                //Add it to your inventory
                 if (newWeapon != null) {
-                    getField("data", "weapon_body_list").getAsJsonArray().add(newWeapon);
-                    if (options.getFieldValue("maxAddedWeapons")) {
-                        //Update weapon bonuses
-                        addWeaponBonus(weapon);
-                        //Update weapon passives
-                        updateWeaponPassives(weapon);
-                    }
-                    count++;
-                    write(weapon.getName() + "(" + weapon.getRarity() + "*, " + weapon.getWeaponSeries() + ")");
+                    out.add(weapon, newWeapon);
                 }
             }
         }
+        return out;
+    }
+
+    private int applyMissingWeapons(Additions<WeaponMeta> additions) {
+        List<WeaponMeta> maxedWeapons = new ArrayList<>();
+        //Add them to your inventory
+        if (!additions.isEmpty()) {
+            index.addAll("weapon_body_list", additions.getEntries());
+        }
+        for (WeaponMeta weapon : additions.getMetas()) {
+            if (settings.maxAddedWeapons()) {
+                //Update weapon bonuses
+                addWeaponBonus(weapon);
+                //Weapon passives are updated once all the weapons are added
+                maxedWeapons.add(weapon);
+            }
+            write(weapon.getName() + "(" + weapon.getRarity() + "*, " + weapon.getWeaponSeries() + ")");
+        }
         flushLog("Added weapons");
+        updateWeaponPassives(maxedWeapons);
 
         testFlags.add("addMissingWeapons");
-        return count;
+        return additions.size();
+    }
+
+    //Everything addMissingAdventurers/Dragons/Weapons/Wyrmprints, addItems and addMissingWeaponSkins do, all at once.
+    //Each category only reads the catalog and its own list, so they're planned side by side on fork-join tasks,
+    //then applied here one at a time, in that order. Bonuses, stories and passives are only touched while applying,
+    //so the save comes out exactly like running them one after another.
+    //Returns what each of them would have said
+    public List<String> completeCollection(boolean toExcludeLowRarityDragons) {
+        //the ID sets are read before forking, so the tasks don't go through (or build) the index themselves
+        IntSet ownedAdventurers = index.getIds("chara_list");
+        IntSet ownedDragons = index.getIds("dragon_list");
+        IntSet ownedWeapons = index.getIds("weapon_body_list");
+        IntSet ownedWyrmprints = index.getIds("ability_crest_list");
+        IntSet ownedMaterials = index.getIds("material_list");
+        IntSet ownedWeaponSkins = index.getIds("weapon_skin_list");
+
+        ForkJoinTask<Additions<AdventurerMeta>> adventurers = ForkJoinTask.adapt(() -> planMissingAdventurers(ownedAdventurers, catalog.getIdToAdventurer().values()));
+        ForkJoinTask<Additions<DragonMeta>> dragons = ForkJoinTask.adapt(() -> planMissingDragons(ownedDragons, catalog.getIdToDragon().values(), toExcludeLowRarityDragons));
+        ForkJoinTask<Additions<WeaponMeta>> weapons = ForkJoinTask.adapt(() -> planMissingWeapons(ownedWeapons, catalog.getIdToWeapon().values()));
+        ForkJoinTask<Additions<WyrmprintMeta>> wyrmprints = ForkJoinTask.adapt(() -> planMissingWyrmprints(ownedWyrmprints, catalog.getIdToPrint().values()));
+        ForkJoinTask<Additions<MaterialMeta>> materials = ForkJoinTask.adapt(() -> planMissingMaterials(ownedMaterials));
+        ForkJoinTask<Additions<String>> weaponSkins = ForkJoinTask.adapt(() -> planMissingWeaponSkins(ownedWeaponSkins));
+        ForkJoinTask.invokeAll(adventurers, dragons, weapons, wyrmprints, materials, weaponSkins);
+
+        List<String> out = new ArrayList<>();
+        out.add("Added " + applyMissingAdventurers(adventurers.join()) + " missing adventurers.");
+        out.add(applyMissingDragons(dragons.join()));
+        out.add("Added " + applyMissingWeapons(weapons.join()) + " missing weapons.");
+        out.add("Added " + applyMissingWyrmprints(wyrmprints.join()) + " missing wyrmprints.");
+        applyMaterials(materials.join());
+        addDragonGifts();
+        out.add("Set all material counts to 30,000.");
+        out.add("Added " + applyMissingWeaponSkins(weaponSkins.join()) + " missing weapon skins.");
+        return out;
     }
 
     //doozy
@@ -1569,13 +1197,13 @@ public class JsonUtils {
         int addedCount = 0;
         int addedDecoCount = 0;
 
-        int keyIdMax = 0;   //need to keep track of keyId so we don't run into dupe keyId issue
+        //new facilities get keys above all the existing ones so we don't run into dupe keyId issue
+        KeyAllocator buildKeys = index.getKeyAllocator("build_list");
 
         JsonArray newFacilities = new JsonArray();
         JsonArray currentFacilities = getFieldAsJsonArray("data", "build_list");
         HashMap<Integer, Integer> idToBuildCount = new HashMap<>();
         //first pass... upgrade all existing facilities, and count how many of each facility you own
-        //also keep track of keyIdMax
         for(JsonElement jsonEle : currentFacilities){
             JsonObject currentFacility = jsonEle.getAsJsonObject();
             int keyId = currentFacility.get("build_id").getAsInt();
@@ -1584,19 +1212,18 @@ public class JsonUtils {
             int id = currentFacility.get("plant_id").getAsInt();
             int level = currentFacility.get("level").getAsInt();
             //check if this facility is maxed
-            FacilityMeta fac = idToFacility.get(id);
+            FacilityMeta fac = catalog.getIdToFacility().get(id);
             if(level != fac.getMaxLevel()){
                 upgradedExistingCount++;
                 write(fac.getName() + ": " + level + " -> " + fac.getMaxLevel());
             }
-            keyIdMax = Math.max(keyIdMax, keyId);
             if(idToBuildCount.containsKey(id)){ //increment build count
                 int buildCount = idToBuildCount.get(id);
                 idToBuildCount.put(id, buildCount + 1);
             } else {
                 idToBuildCount.put(id, 1);
             }
-            newFacilities.add(buildFacility(idToFacility.get(id), keyId, x, y));
+            newFacilities.add(buildFacility(catalog.getIdToFacility().get(id), keyId, x, y));
         }
         flushLog("Levelled up " + upgradedExistingCount + " facilities");
 
@@ -1605,7 +1232,7 @@ public class JsonUtils {
 
         //compile list of max amounts you can have for each facility
         HashMap<Integer, Integer> idToMaxBuildCount = new HashMap<>();
-        idToFacility.forEach((id, fac) -> idToMaxBuildCount.put(id, fac.getMaxBuildCount()));
+        catalog.getIdToFacility().forEach((id, fac) -> idToMaxBuildCount.put(id, fac.getMaxBuildCount()));
 
         //get diffs for owned fac count and max fac count
         HashMap<Integer, Integer> idToMaxBuildCountDiff = new HashMap<>();
@@ -1621,204 +1248,265 @@ public class JsonUtils {
             int id = entry.getKey();
             int missingCount = entry.getValue();
             for(int i = 0; i < missingCount; i++){
-                newFacilities.add(buildFacility(idToFacility.get(id), keyIdMax, addedCount + 1));
-                if(idToFacility.get(id).getMaxLevel() == 0){ //max level 0 --> deco
+                newFacilities.add(buildFacility(catalog.getIdToFacility().get(id), buildKeys.next(), -1, -1));
+                if(catalog.getIdToFacility().get(id).getMaxLevel() == 0){ //max level 0 --> deco
                     addedDecoCount++;
                 } else {
                     addedCount++;
                 }
             }
             if(missingCount > 0){
-                write(idToFacility.get(id).getName() + " x" + missingCount);
+                write(catalog.getIdToFacility().get(id).getName() + " x" + missingCount);
             }
         }
         flushLog("Added facilities");
         System.out.println("Upgraded " + upgradedExistingCount + " existing facilities, added " + addedCount +
                 " new facilities, and added " + addedDecoCount + " decoration facilities");
         //replace facilities list
-        getFieldAsJsonObject("data").remove("build_list");
-        getFieldAsJsonObject("data").add("build_list", newFacilities);
+        index.replace("build_list", newFacilities);
 
         //if you probably got a stat boost, update fort_bonus_list
         //...hardcoded for now
         if(upgradedExistingCount != 0 || addedCount != 0){
             JsonObject bonuses = getFieldAsJsonObject("data", "fort_bonus_list");
-            bonuses.remove("param_bonus"); //facility weapon bonuses
-            bonuses.remove("element_bonus");
-            bonuses.remove("dragon_bonus");
-            bonuses.add("param_bonus", maxedFacilityBonuses.get("param_bonus"));
-            bonuses.add("element_bonus", maxedFacilityBonuses.get("element_bonus"));
-            bonuses.add("dragon_bonus", maxedFacilityBonuses.get("dragon_bonus"));
+            bonuses.add("param_bonus", catalog.getMaxedFacilityBonus("param_bonus")); //facility weapon bonuses
+            bonuses.add("element_bonus", catalog.getMaxedFacilityBonus("element_bonus"));
+            bonuses.add("dragon_bonus", catalog.getMaxedFacilityBonus("dragon_bonus"));
         }
         //update fort_plant_list... hardcoded for now
         //wtf does this do anyway?
-        getFieldAsJsonObject("data").remove("fort_plant_list");
-        getFieldAsJsonObject("data").add("fort_plant_list", maxedFacilityBonuses.get("fort_plant_list"));
+        getFieldAsJsonObject("data").add("fort_plant_list", catalog.getMaxedFacilityBonus("fort_plant_list"));
     }
 
-    public void maxAdventurers() {
-        JsonArray updatedAdventurers = new JsonArray();
-        JsonArray ownedAdventurers = getFieldAsJsonArray("data", "chara_list");
+    // Roster queries \\
 
-        for(JsonElement jsonEle : ownedAdventurers){
-            JsonObject ownedAdventurer = jsonEle.getAsJsonObject();
-            int id = ownedAdventurer.get("chara_id").getAsInt();
-            int getTime = ownedAdventurer.get("gettime").getAsInt();
-            AdventurerMeta adventurer = idToAdventurer.get(id);
-            if(adventurer == null){
-                continue;
-            }
-            //Construct new unit
-            JsonObject updatedUnit = buildUnit(adventurer, getTime);
-            updatedAdventurers.add(updatedUnit);
-            //Update encyclopedia bonus
+    //the save's lists joined with the catalog, see RosterQuery
+    public RosterQuery<AdventurerMeta> queryAdventurers() {
+        return new RosterQuery<>(index, getFieldAsJsonArray("data", "chara_list"), "chara_list", "chara_id", true,
+                id -> catalog.getIdToAdventurer().get(id),
+                filter -> toIdSet(catalog.findAdventurers(filter), AdventurerMeta::getId));
+    }
+
+    //dragons can be owned more than once, so this one always scans
+    public RosterQuery<DragonMeta> queryDragons() {
+        return new RosterQuery<>(index, getFieldAsJsonArray("data", "dragon_list"), "dragon_list", "dragon_id", false,
+                id -> catalog.getIdToDragon().get(id),
+                filter -> toIdSet(catalog.findDragons(filter), DragonMeta::getId));
+    }
+
+    public RosterQuery<WeaponMeta> queryWeapons() {
+        return new RosterQuery<>(index, getFieldAsJsonArray("data", "weapon_body_list"), "weapon_body_list", "weapon_body_id", true,
+                id -> catalog.getIdToWeapon().get(id),
+                filter -> toIdSet(catalog.findWeapons(filter), WeaponMeta::getId));
+    }
+
+    public RosterQuery<WyrmprintMeta> queryWyrmprints() {
+        return new RosterQuery<>(index, getFieldAsJsonArray("data", "ability_crest_list"), "ability_crest_list", "ability_crest_id", true,
+                id -> catalog.getIdToPrint().get(id),
+                filter -> toIdSet(catalog.findPrints(filter), WyrmprintMeta::getId));
+    }
+
+    private static <T> IntSet toIdSet(List<T> metas, ToIntFunction<T> getId) {
+        IntSet out = new IntSet(metas.size());
+        for(T meta : metas){
+            out.add(getId.applyAsInt(meta));
+        }
+        return out;
+    }
+
+    //the max methods patch owned entities in place, so IDs, key IDs and gettimes stay put and nothing gets re-indexed.
+    //Ones that are already maxed are left alone, so running them again changes nothing. They return how many were upgraded
+
+    public int maxAdventurers() {
+        return maxAdventurers(queryAdventurers());
+    }
+
+    //only maxes the ones that match
+    public int maxAdventurers(CatalogFilter filter) {
+        return maxAdventurers(queryAdventurers().matching(filter));
+    }
+
+    //maxes what the query finds
+    public int maxAdventurers(RosterQuery<AdventurerMeta> query) {
+        List<Integer> ownedIDs = new ArrayList<>();
+        int maxedCount = 0;
+
+        for(RosterQuery.Cursor<AdventurerMeta> cursor = query.cursor(); cursor.next(); ){
+            JsonObject ownedAdventurer = cursor.getEntry();
+            AdventurerMeta adventurer = cursor.getMeta();
+            int id = cursor.getId();
+            ownedIDs.add(id);
+            //Update encyclopedia bonus, from the levels before maxing (no bonus if it's maxed already)
             int level = ownedAdventurer.get("level").getAsInt();
             int mc = ownedAdventurer.get("mana_circle_piece_id_list").getAsJsonArray().size();
             int elementId = adventurer.getElementId();
             boolean hasManaspiral = adventurer.hasManaSpiral();
-            double hpBonus = 0.0;
-            double strBonus = 0.0;
+            int hpBonus = 0;
+            int strBonus = 0;
             if (hasManaspiral) {
-                if (level < 80) { hpBonus = 0.2; }
-                else if (level < 100) { hpBonus = 0.1; }
-                if (mc < 50) { strBonus = 0.2; }
-                else if (mc < 70) { strBonus = 0.1; }
+                if (level < 80) { hpBonus = 2; }
+                else if (level < 100) { hpBonus = 1; }
+                if (mc < 50) { strBonus = 2; }
+                else if (mc < 70) { strBonus = 1; }
             } else {
-                if (level < 80) { hpBonus = 0.1; }
-                if (mc < 50) { strBonus = 0.1; }
+                if (level < 80) { hpBonus = 1; }
+                if (mc < 50) { strBonus = 1; }
             }
-            addAdventurerEncyclopediaBonus(elementId, hpBonus, strBonus);
-            //Unlock adventurer stories
-            unlockAdventurerStory(id);
-        }
-        //Replace current adventurer list
-        getFieldAsJsonObject("data").remove("chara_list");
-        getFieldAsJsonObject("data").add("chara_list", updatedAdventurers);
-    }
-
-    public void maxDragons(){
-        JsonArray updatedDragons = new JsonArray();
-        JsonArray ownedDragons = getFieldAsJsonArray("data", "dragon_list");
-
-        for(JsonElement jsonEle : ownedDragons){
-            JsonObject ownedDragon = jsonEle.getAsJsonObject();
-            int id = ownedDragon.get("dragon_id").getAsInt();
-            int getTime = ownedDragon.get("get_time").getAsInt();
-            int keyId = ownedDragon.get("dragon_key_id").getAsInt();
-            DragonMeta dragon = idToDragon.get(id);
-            if(dragon == null){
-                continue;
+            fortBonus.add(FortBonus.CHARA_ALBUM, elementId, hpBonus, strBonus);
+            //Max unit
+            if(EntityTemplates.patch(ownedAdventurer, catalog.getUnitTemplate(id, false))){
+                maxedCount++;
+            }
+        }
+        //Unlock adventurer stories
+        unlockAdventurerStories(ownedIDs);
+        return maxedCount;
+    }
+
+    public int maxDragons(){
+        return maxDragons(queryDragons());
+    }
+
+    public int maxDragons(CatalogFilter filter){
+        return maxDragons(queryDragons().matching(filter));
+    }
+
+    public int maxDragons(RosterQuery<DragonMeta> query){
+        int maxedCount = 0;
+
+        for(RosterQuery.Cursor<DragonMeta> cursor = query.cursor(); cursor.next(); ){
+            JsonObject ownedDragon = cursor.getEntry();
+            DragonMeta dragon = cursor.getMeta();
+            int id = cursor.getId();
+            int unbinds = ownedDragon.get("limit_break_count").getAsInt();
+            //Max dragon
+            if(EntityTemplates.patch(ownedDragon, catalog.getDragonTemplate(id, false))){
+                maxedCount++;
             }
-            //Construct new dragon
-            JsonObject updatedUnit = buildDragon2(dragon, keyId, getTime);
-            updatedDragons.add(updatedUnit);
             boolean has5UB = dragon.has5UB();
 
             //Update encyclopedia max level/unbound obj
-            for (JsonElement jsonEle2 : getFieldAsJsonArray("data", "album_dragon_list")){
-                JsonObject encycloData = jsonEle2.getAsJsonObject();
-                if(encycloData.get("dragon_id").getAsInt() != id){
-                    continue; //ignore if this isnt the dragon
-                }
-                int maxLevel = encycloData.get("max_level").getAsInt();
-                int maxUnbinds = encycloData.get("max_limit_break_count").getAsInt();
-                boolean toUpdateBonuses = maxUnbinds < (has5UB ? 5 : 4); //actual bonuses itself
-                boolean toUpdateEncyclo = toUpdateBonuses || maxLevel < dragon.getMaxLevel(); //record obj in album_dragon_list
-
-                if(toUpdateEncyclo){
-                    encycloData.remove("max_level");
-                    encycloData.remove("max_limit_break_count");
-                    encycloData.addProperty("max_level", dragon.getMaxLevel());
-                    encycloData.addProperty("max_limit_break_count", has5UB ? 5 : 4);
-                    if(toUpdateBonuses){
-                        //Update encyclopedia bonus
-                        int unbinds = ownedDragon.get("limit_break_count").getAsInt();
-                        int elementId = dragon.getElementId();
-                        double hpBonus = 0.0;
-                        if (has5UB) {
-                            if (unbinds < 4) { hpBonus = 0.2; }
-                            else if (unbinds < 5) { hpBonus = 0.1; }
-                        } else {
-                            if (unbinds < 4) { hpBonus = 0.1; }
-                        }
-                        addDragonEncyclopediaBonus(elementId, hpBonus, 0.0);
+            JsonObject encycloData = index.getEntry("album_dragon_list", id);
+            if(encycloData == null){
+                continue;
+            }
+            int maxLevel = encycloData.get("max_level").getAsInt();
+            int maxUnbinds = encycloData.get("max_limit_break_count").getAsInt();
+            boolean toUpdateBonuses = maxUnbinds < (has5UB ? 5 : 4); //actual bonuses itself
+            boolean toUpdateEncyclo = toUpdateBonuses || maxLevel < dragon.getMaxLevel(); //record obj in album_dragon_list
+
+            if(toUpdateEncyclo){
+                encycloData.addProperty("max_level", dragon.getMaxLevel());
+                encycloData.addProperty("max_limit_break_count", has5UB ? 5 : 4);
+                if(toUpdateBonuses){
+                    //Update encyclopedia bonus
+                    int elementId = dragon.getElementId();
+                    int hpBonus = 0;
+                    if (has5UB) {
+                        if (unbinds < 4) { hpBonus = 2; }
+                        else if (unbinds < 5) { hpBonus = 1; }
+                    } else {
+                        if (unbinds < 4) { hpBonus = 1; }
                     }
+                    fortBonus.add(FortBonus.DRAGON_ALBUM, elementId, hpBonus, 0);
                 }
             }
         }
-        //Replace current dragon list
-        getFieldAsJsonObject("data").remove("dragon_list");
-        getFieldAsJsonObject("data").add("dragon_list", updatedDragons);
+        return maxedCount;
+    }
+
+    public int maxWeapons(){
+        return maxWeapons(queryWeapons());
+    }
 
+    public int maxWeapons(CatalogFilter filter){
+        return maxWeapons(queryWeapons().matching(filter));
     }
 
-    public void maxWeapons(){
-        JsonArray updatedWeapons = new JsonArray();
-        JsonArray ownedWeapons = getFieldAsJsonArray("data", "weapon_body_list");
+    public int maxWeapons(RosterQuery<WeaponMeta> query){
+        List<WeaponMeta> ownedWeaponData = new ArrayList<>();
+        int maxedCount = 0;
 
-        for(JsonElement jsonEle : ownedWeapons){
-            JsonObject ownedWeapon = jsonEle.getAsJsonObject();
-            int id = ownedWeapon.get("weapon_body_id").getAsInt();
-            int getTime = ownedWeapon.get("gettime").getAsInt();
-            WeaponMeta weapon = idToWeapon.get(id);
-            //Construct new weapon
-            JsonObject updatedWeapon = buildWeapon(weapon, getTime);
-            updatedWeapons.add(updatedWeapon);
+        for(RosterQuery.Cursor<WeaponMeta> cursor = query.cursor(); cursor.next(); ){
+            JsonObject ownedWeapon = cursor.getEntry();
+            WeaponMeta weapon = cursor.getMeta();
+            JsonObject template = catalog.getWeaponTemplate(cursor.getId(), false);
+            if(template == null){
+                continue; //unused (rarity 1) weapons
+            }
             //Update weapon bonus
             boolean isWeaponBonusUnlocked = ownedWeapon.get("fort_passive_chara_weapon_buildup_count").getAsInt() == 1;
             if(!isWeaponBonusUnlocked){
                 addWeaponBonus(weapon);
             }
-            //Update weapon passives
-            updateWeaponPassives(weapon);
+            //Max weapon
+            if(EntityTemplates.patch(ownedWeapon, template)){
+                maxedCount++;
+            }
+            ownedWeaponData.add(weapon);
         }
-        //Replace current weapon list
-        getFieldAsJsonObject("data").remove("weapon_body_list");
-        getFieldAsJsonObject("data").add("weapon_body_list", updatedWeapons);
+        //Update weapon passives
+        updateWeaponPassives(ownedWeaponData);
 
         testFlags.add("maxWeapons");
+        return maxedCount;
+    }
+
+    //unlocks the passives of all these weapons, only passives that aren't unlocked yet are added to the save
+    public void updateWeaponPassives(List<WeaponMeta> weapons) {
+        JsonArray passiveAbilityList = getFieldAsJsonArray("data", "weapon_passive_ability_list");
+        IntSet unlocked = getUnlockedPassives(passiveAbilityList);
+        for(WeaponMeta weapon : weapons) {
+            for(int id : weapon.getPassiveAbilityIdList()) {
+                if(unlocked.add(id)){
+                    JsonObject passiveId = new JsonObject();
+                    passiveId.addProperty("weapon_passive_ability_id", id);
+                    passiveAbilityList.add(passiveId);
+                }
+            }
+        }
     }
 
-    public void updateWeaponPassives(WeaponMeta weapon) {
-        List<Integer> passiveIdList = weapon.getPassiveAbilityIdList();
-        for(Integer id : passiveIdList) {
-            JsonObject passiveId = new JsonObject();
-            passiveId.addProperty("weapon_passive_ability_id", id);
-            JsonArray passiveAbilityList = getFieldAsJsonArray("data", "weapon_passive_ability_list");
-            if(!passiveAbilityList.contains(passiveId)){
-                passiveAbilityList.add(passiveId);
+    private IntSet getUnlockedPassives(JsonArray passiveAbilityList) {
+        //read again if the list was swapped or edited without going through updateWeaponPassives()
+        if(unlockedPassives == null || unlockedPassivesList != passiveAbilityList
+                || unlockedPassives.size() != passiveAbilityList.size()) {
+            unlockedPassives = new IntSet(passiveAbilityList.size() + 64);
+            unlockedPassivesList = passiveAbilityList;
+            for(JsonElement jsonEle : passiveAbilityList) {
+                unlockedPassives.add(jsonEle.getAsJsonObject().get("weapon_passive_ability_id").getAsInt());
             }
         }
+        return unlockedPassives;
+    }
+
+    public int maxWyrmprints(){
+        return maxWyrmprints(queryWyrmprints());
     }
 
-    public void maxWyrmprints(){
-        JsonArray updatedWyrmprints = new JsonArray();
-        JsonArray ownedWyrmprints = getFieldAsJsonArray("data", "ability_crest_list");
+    public int maxWyrmprints(CatalogFilter filter){
+        return maxWyrmprints(queryWyrmprints().matching(filter));
+    }
+
+    public int maxWyrmprints(RosterQuery<WyrmprintMeta> query){
+        int maxedCount = 0;
 
-        for(JsonElement jsonEle : ownedWyrmprints){
-            JsonObject ownedWyrmprint = jsonEle.getAsJsonObject();
-            int id = ownedWyrmprint.get("ability_crest_id").getAsInt();
-            int getTime = ownedWyrmprint.get("gettime").getAsInt();
-            WyrmprintMeta wyrmprint = idToPrint.get(id);
-            //Construct new print
-            JsonObject updatedPrint = buildWyrmprint(wyrmprint, getTime);
-            updatedWyrmprints.add(updatedPrint);
+        for(RosterQuery.Cursor<WyrmprintMeta> cursor = query.cursor(); cursor.next(); ){
+            //Max print
+            if(EntityTemplates.patch(cursor.getEntry(), catalog.getPrintTemplate(cursor.getId(), false))){
+                maxedCount++;
+            }
         }
-        //Replace current adventurer list
-        getFieldAsJsonObject("data").remove("ability_crest_list");
-        getFieldAsJsonObject("data").add("ability_crest_list", updatedWyrmprints);
+        return maxedCount;
     }
 
     //check for temporary adventurers who've been skipped
     //their list_view_flag will be == 0
     public List<String> checkSkippedTempAdventurers(){
         List<String> skippedAdvs = new ArrayList<>();
-        for(JsonElement jsonEle : getFieldAsJsonArray("data", "chara_list")){
-            JsonObject adv = jsonEle.getAsJsonObject();
-            if(adv.get("list_view_flag").getAsInt() == 0){
-                skippedAdvs.add(idToAdventurer.get(adv.get("chara_id").getAsInt()).getName());
-            }
-        }
+        queryAdventurers()
+                .where((adv, meta) -> adv.get("list_view_flag").getAsInt() == 0)
+                .forEach((adv, meta) -> skippedAdvs.add(meta.getName()));
         return skippedAdvs;
     }
 
@@ -1827,7 +1515,6 @@ public class JsonUtils {
         for(JsonElement jsonEle : getFieldAsJsonArray("data", "chara_list")){
             JsonObject adv = jsonEle.getAsJsonObject();
             if(adv.get("list_view_flag").getAsInt() == 0){
-                adv.remove("list_view_flag");
                 adv.addProperty("list_view_flag", 1);
             }
         }
@@ -1836,28 +1523,30 @@ public class JsonUtils {
     //Hacked options
 
     public void addTutorialZethia(){
-        addHackedUnit(19900001);
+        addHackedUnits(Collections.singletonList(19900001));
     }
 
     public void addStoryLeifs(){
-        addHackedUnit(19900002);
-        addHackedUnit(19900005);
+        addHackedUnits(Arrays.asList(19900002, 19900005));
     }
 
     public void addGunnerCleo(){
-        addHackedUnit(99900009); //Gunner Cleo
+        addHackedUnits(Collections.singletonList(99900009)); //Gunner Cleo
     }
 
     public void addNotteAndDog(){
-        addHackedUnit(19900003); //Yellow Notte
-        addHackedUnit(19900004); //Puppy
-        addHackedUnit(19900006); //Blue Notte
+        addHackedUnits(Arrays.asList(
+                19900003, //Yellow Notte
+                19900004, //Puppy
+                19900006)); //Blue Notte
     }
 
     public void addStoryNPCs(){
+        List<Integer> ids = new ArrayList<>();
         for(int i = 0; i < 67; i++){
-            addHackedUnit(19100001 + i);
+            ids.add(19100001 + i);
         }
+        addHackedUnits(ids);
     }
 
     public void addOthers(){ //this shouldn't be used tbh
@@ -1868,93 +1557,53 @@ public class JsonUtils {
     }
 
     public void addABR3Stars(){
+        List<Integer> ids = new ArrayList<>();
         for(int i = 0; i < 9; i++){
-            addHackedUnit(99130001 + i * 100000);
+            ids.add(99130001 + i * 100000);
         }
+        addHackedUnits(ids);
     }
 
     public void addUniqueShapeshiftDragons(){
-        Arrays.asList(29900006, 29900014, 29900017, 29900018, 29900023).forEach(
-                id -> getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(id)));
+        addHackedDragons(Arrays.asList(29900006, 29900014, 29900017, 29900018, 29900023));
     }
 
     public void addUnplayableDragons(){
+        List<Integer> ids = new ArrayList<>();
         for(int i = 0; i < 27; i++){
-            getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29900001 + i));
+            ids.add(29900001 + i);
         }
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29800001));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29800002));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29800003));
+        ids.addAll(Arrays.asList(29800001, 29800002, 29800003));
         for(int i = 0; i < 6; i++){
-            getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(21000001 + i));
-        }
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29940301));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950405));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950116));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950522));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950317));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950523));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950518));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950415));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950524));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950416));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950525));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950121));
-        getField("data", "dragon_list").getAsJsonArray().add(buildHackedDragon(29950320));
+            ids.add(21000001 + i);
+        }
+        ids.addAll(Arrays.asList(29940301, 29950405, 29950116, 29950522, 29950317, 29950523, 29950518,
+                29950415, 29950524, 29950416, 29950525, 29950121, 29950320));
+        addHackedDragons(ids);
     }
 
     //ehh......
-    public void deleteDupeIds () {
+    public DupeRepair.Report deleteDupeIds () {
         // soem guy downloaded save data from orchis and found out that
         // they had a lot of dupe weapon skin ids. probably cause they
         // used this program to edit them in, and then made some weapons in the server
         // so lets just delete the dupe ids
-        int dupeDragonKeyIdCount = 0;
-        int dupeWeaponSkinIdCount = 0;
-
-        // happened with dragon key ids and weapon skin ids...
-        List<Integer> keyIds = new ArrayList<>();
-        List<JsonElement> toRemove = new ArrayList<>();
-        JsonArray dragons = getFieldAsJsonArray("data", "dragon_list");
-        for (JsonElement jsonEle : dragons) {
-            JsonObject dragon = jsonEle.getAsJsonObject();
-            int id = dragon.get("dragon_key_id").getAsInt();
-            if (keyIds.contains(id)) {
-                dupeDragonKeyIdCount++;
-                toRemove.add(dragon);
-            } else {
-                keyIds.add(id);
+        // (dupe key ids are different things sharing a key though, those get new keys instead)
+        DupeRepair.Report report = DupeRepair.repair(jsonData, index);
+        //DupeRepair edits the lists directly, not through the index
+        for (String listName : report.getRepairedLists()) {
+            if (SaveIndex.isIndexed(listName)) {
+                index.invalidate(listName);
             }
         }
-        for (JsonElement badDragon : toRemove) {
-            dragons.remove(badDragon);
-        }
 
-        keyIds.clear();
-        toRemove.clear();
-        JsonArray weaponSkins = getFieldAsJsonArray("data", "weapon_skin_list");
-        for (JsonElement jsonEle : weaponSkins) {
-            JsonObject weaponSkin = jsonEle.getAsJsonObject();
-            int id = weaponSkin.get("weapon_skin_id").getAsInt();
-            if (keyIds.contains(id)) {
-                dupeWeaponSkinIdCount++;
-                toRemove.add(weaponSkin);
-            } else {
-                keyIds.add(id);
-            }
-        }
-        for (JsonElement badWeaponSkin : toRemove) {
-            weaponSkins.remove(badWeaponSkin);
-        }
-        
-        if(dupeDragonKeyIdCount != 0 || dupeWeaponSkinIdCount != 0) {
+        if(!report.isClean()) {
             System.out.println("Found dupe ID issues with the save file when importing... this should not happen."
-                    + " The save editor will remove these dupe ID's for editing.");
-            if (dupeDragonKeyIdCount != 0) {
-                System.out.println("Error: Duplicate dragon key ID count: " +  dupeDragonKeyIdCount);
+                    + " The save editor will remove these dupe ID's (or give them new key ID's) for editing.");
+            for (String line : report.getLines()) {
+                System.out.println("Error: " + line);
             }
-            if (dupeWeaponSkinIdCount != 0) {
-                System.out.println("Error: Duplicate weapon skin key ID count: " + dupeWeaponSkinIdCount);
+            if (report.getRemovedCount("weapon_skin_list") != 0) {
                 System.out.println("(This one was most likely caused by downloading save data " +
                         "from a private server that you crafted weapons on");
                 System.out.println("after editing in weapon skins" +
@@ -1962,34 +1611,29 @@ public class JsonUtils {
             }
             System.out.println();
         }
+        return report;
     }
 
     public void kscapeRandomizer() {
-        JsonArray talismans = new JsonArray();
+        PartyRefs partyRefs = new PartyRefs(jsonData);
+        Map<Integer, List<Integer>> equippedKscapes = getEquippedKscapes(partyRefs);
+        buildRandomKscapeInventory();
+        reequipTalismans(partyRefs, equippedKscapes);
+    }
+
+    //replaces the talisman list, without looking at the old one
+    public void buildRandomKscapeInventory() {
+        index.replace("talisman_list", new JsonArray());
+        KeyAllocator kscapeKeys = new KeyAllocator(index, "talisman_list", 100, 200000);
 
         for (int i = 1; i <= 500; i++) {
             //get random adventurer portrait ID
-            int portraitListSize = kscapePortraitIDs.size();
-            int portraitID = kscapePortraitIDs.get(rng.nextInt(portraitListSize));
+            int portraitListSize = catalog.getKscapePortraitIDs().size();
+            int portraitID = catalog.getKscapePortraitIDs().get(rng.nextInt(portraitListSize));
 
             //get random talisman
-            JsonObject randomTalisman = buildRandomTalisman(portraitID, i);
-            talismans.add(randomTalisman);
-        }
-
-        getField("data").getAsJsonObject().remove("talisman_list");
-        getField("data").getAsJsonObject().add("talisman_list", talismans);
-
-        //delete equipped kscapes, since old kscape ID's will now point to
-        //a kscape that no longer exists
-        JsonArray partyList = getFieldAsJsonArray("data", "party_list");
-        for (JsonElement jsonEle : partyList) {
-            JsonObject party = jsonEle.getAsJsonObject();
-            for (JsonElement jsonEle2 : party.getAsJsonArray("party_setting_list")) {
-                JsonObject adventurer = jsonEle2.getAsJsonObject();
-                adventurer.remove("equip_talisman_key_id");
-                adventurer.addProperty("equip_talisman_key_id", 0);
-            }
+            JsonObject randomTalisman = buildRandomTalisman(portraitID, kscapeKeys.next());
+            index.add("talisman_list", randomTalisman);
         }
     }
 
@@ -2081,32 +1725,14 @@ public class JsonUtils {
                 System.out.println("[" + (i+1) + "] " + message);
             }
         }
-    }
-
-    //
-
-    public static boolean checkIfJsonObject(String path) {
-        JsonReader reader = null;
-        try {
-            reader = new JsonReader(new FileReader(path));
-        } catch (FileNotFoundException ignored) {
-            System.out.println("JSON data not found at this filepath");
-            return false;
-        }
-
-        try {
-            GSON.fromJson(reader, JsonObject.class);
-        } catch (JsonSyntaxException e) {
-            System.out.println("savedata.txt does not appear to be in JSON format!");
-            return false;
-        }
-        return true;
+        System.out.println(catalog.getLoadSummary());
     }
 
     // Options //
 
     public void editOption(String fieldName, boolean fieldValue) {
         options.editOption(fieldName, fieldValue);
+        settings = options.snapshot();
     }
 
     public void exportOptions() {
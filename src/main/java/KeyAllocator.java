@@ -0,0 +1,41 @@
+//Hands out new key IDs (dragon_key_id, talisman_key_id, build_id, key_id...) for one of the save's lists.
+//Every key is above every key already in the list and above every key handed out before, 'step' apart,
+//so new entries can't collide with old ones or with each other. Uses SaveIndex's max key, so nothing is rescanned.
+public class KeyAllocator {
+
+    private final SaveIndex index;
+    private final String listName;
+    private final int step;
+    //keys start above this even if the list is empty or its keys are lower
+    private final int floor;
+    //highest key handed out so far (the entry may not be in the list yet)
+    private int lastKey;
+
+    public KeyAllocator(SaveIndex index, String listName, int step, int floor) {
+        this.index = index;
+        this.listName = listName;
+        this.step = step;
+        this.floor = floor;
+        this.lastKey = floor;
+    }
+
+    public int next() {
+        lastKey = Math.max(lastKey, index.getMaxKey(listName)) + step;
+        return lastKey;
+    }
+
+    //Reserves count keys in one go, for adding a bunch of entries at once.
+    //Returns the first one, the rest are first + step, first + 2 * step...
+    public int reserve(int count) {
+        if (count <= 0) {
+            return Math.max(lastKey, index.getMaxKey(listName)) + step; //nothing reserved
+        }
+        int first = next();
+        lastKey = first + step * (count - 1);
+        return first;
+    }
+
+    public int getStep() { return step; }
+    public int getFloor() { return floor; }
+
+}
@@ -0,0 +1,274 @@
+import java.util.*;
+
+//Looks up adventurers/dragons by name the way people actually type them: any case, with or without spaces and
+//punctuation ("gala luca", "GalaLuca") and by prefix ("nefa" --> Nefaria). Typos ("lathana" --> Lathna) are only
+//suggested (search()), never resolved to on their own.
+//Names, aliases and titles all count. Built once per catalog (see Catalog) and only read after that.
+//  - a trie over the keys, each node keeping the entries under it best-first, for prefix matches
+//  - a trigram index over the keys; typo matches are the entries sharing enough trigrams with the query,
+//    checked with an edit distance that gives up as soon as it's over the limit
+//Keys are compared normalized: upper case, letters and digits only.
+public class NameIndex<T> {
+
+    //how many typos a query of this many characters can have
+    private static int maxTypos(int length) {
+        return length <= 4 ? 1 : length <= 8 ? 2 : 3;
+    }
+
+    private final List<String> keys = new ArrayList<>();    //normalized
+    private final List<T> metas = new ArrayList<>();
+    private final Map<String, T> exact = new HashMap<>();
+    private final Node root = new Node();
+    //trigram --> entries whose key has it
+    private final Map<Long, int[]> trigrams = new HashMap<>();
+    private final int[] trigramCounts;
+
+    //nameToMeta: names and aliases (like Catalog's nameToAdventurer), extraKeys: anything else to search by (titles)
+    public NameIndex(Map<String, T> nameToMeta, Map<String, T> extraKeys) {
+        Map<String, T> all = new TreeMap<>(nameToMeta); //sorted, so the index comes out the same every time
+        extraKeys.forEach(all::putIfAbsent);
+        for (Map.Entry<String, T> entry : all.entrySet()) {
+            String key = normalize(entry.getKey());
+            if (key.isEmpty() || exact.containsKey(key)) {
+                continue;
+            }
+            exact.put(key, entry.getValue());
+            keys.add(key);
+            metas.add(entry.getValue());
+        }
+        trigramCounts = new int[keys.size()];
+
+        Map<Long, List<Integer>> trigramLists = new HashMap<>();
+        Integer[] byRank = new Integer[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            byRank[i] = i;
+            for (long trigram : trigramsOf(keys.get(i))) {
+                List<Integer> entries = trigramLists.computeIfAbsent(trigram, k -> new ArrayList<>());
+                if (entries.isEmpty() || entries.get(entries.size() - 1) != i) {
+                    entries.add(i);
+                }
+            }
+        }
+        trigramLists.forEach((trigram, entries) -> trigrams.put(trigram, entries.stream().mapToInt(Integer::intValue).toArray()));
+        //shorter keys first, so "LUCA" comes before "LUCA (GALA)"-like keys
+        Arrays.sort(byRank, Comparator.comparingInt((Integer i) -> keys.get(i).length()).thenComparing(keys::get));
+        for (int i : byRank) {
+            Node node = root;
+            node.entries.add(i);
+            for (char c : keys.get(i).toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new Node());
+                node.entries.add(i);
+            }
+        }
+    }
+
+    public static String normalize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toUpperCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    //null if nothing has exactly this name (after normalizing)
+    public T get(String name) {
+        return exact.get(normalize(name));
+    }
+
+    //everything with a name starting with prefix, shortest names first
+    public List<T> prefix(String prefix, int limit) {
+        List<T> out = new ArrayList<>();
+        Node node = find(normalize(prefix));
+        if (node != null) {
+            for (int i : node.entries) {
+                addDistinct(out, metas.get(i), limit);
+                if (out.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    //Best matches first: the exact name, then names it's a prefix of, then names it's a few typos away from
+    public List<T> search(String query, int limit) {
+        return search(normalize(query), limit, new int[keys.size()]);
+    }
+
+    //What you definitely meant: the exact name or the only name starting with it. null if there's no match
+    //or it's ambiguous. Typo matches never count here (a wrong guess would add the wrong thing to the save),
+    //search() is what suggests them
+    public T resolve(String name) {
+        return resolveKey(normalize(name));
+    }
+
+    //resolve() for a whole pasted list at once, e.g. "nefaria, gala luca\nlathna". Names are split on
+    //commas, semicolons and line breaks. In order, name as typed --> match (null if it didn't resolve)
+    public LinkedHashMap<String, T> resolveAll(String pasted) {
+        LinkedHashMap<String, T> out = new LinkedHashMap<>();
+        for (String name : pasted.split("[,;\\r\\n]+")) {
+            name = name.trim();
+            if (!name.isEmpty() && !out.containsKey(name)) {
+                out.put(name, resolveKey(normalize(name)));
+            }
+        }
+        return out;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private T resolveKey(String key) {
+        if (key.isEmpty()) {
+            return null;
+        }
+        T match = exact.get(key);
+        if (match != null) {
+            return match;
+        }
+        Node node = find(key);
+        if (node == null) {
+            return null;
+        }
+        T first = metas.get(node.entries.get(0));
+        for (int i : node.entries) {
+            if (metas.get(i) != first) {
+                return null; //more than one thing starts with it
+            }
+        }
+        return first;
+    }
+
+    private List<T> search(String key, int limit, int[] counts) {
+        List<T> out = new ArrayList<>();
+        if (key.isEmpty()) {
+            return out;
+        }
+        T match = exact.get(key);
+        if (match != null) {
+            out.add(match);
+        }
+        Node node = find(key);
+        if (node != null) {
+            for (int i : node.entries) {
+                if (out.size() == limit) {
+                    return out;
+                }
+                addDistinct(out, metas.get(i), limit);
+            }
+        }
+        for (int[] typo : typoMatches(key, counts)) {
+            if (out.size() == limit) {
+                break;
+            }
+            addDistinct(out, metas.get(typo[0]), limit);
+        }
+        return out;
+    }
+
+    //{entry, edit distance} within maxTypos() of key, closest first
+    private List<int[]> typoMatches(String key, int[] counts) {
+        List<Long> queryTrigrams = trigramsOf(key);
+        int maxTypos = maxTypos(key.length());
+        //each typo breaks at most 3 trigrams
+        int minShared = Math.max(1, queryTrigrams.size() - 3 * maxTypos);
+        List<Integer> touched = new ArrayList<>();
+        for (long trigram : queryTrigrams) {
+            int[] entries = trigrams.get(trigram);
+            if (entries == null) {
+                continue;
+            }
+            for (int i : entries) {
+                if (counts[i]++ == 0) {
+                    touched.add(i);
+                }
+            }
+        }
+        List<int[]> out = new ArrayList<>();
+        for (int i : touched) {
+            if (counts[i] >= minShared) {
+                int distance = editDistance(key, keys.get(i), maxTypos);
+                if (distance <= maxTypos) {
+                    out.add(new int[]{i, distance});
+                }
+            }
+            counts[i] = 0; //ready for the next query
+        }
+        out.sort(Comparator.comparingInt((int[] match) -> match[1])
+                .thenComparingInt(match -> keys.get(match[0]).length())
+                .thenComparingInt(match -> match[0]));
+        return out;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    private void addDistinct(List<T> out, T meta, int limit) {
+        if (out.size() < limit && !out.contains(meta)) {
+            out.add(meta);
+        }
+    }
+
+    //distinct trigrams of the key padded with spaces, so short keys and the start/end count too
+    private static List<Long> trigramsOf(String key) {
+        String padded = "  " + key + " ";
+        List<Long> out = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long trigram = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            if (!out.contains(trigram)) {
+                out.add(trigram);
+            }
+        }
+        return out;
+    }
+
+    //Levenshtein distance with swapped neighbours counting as one typo, or limit + 1 once it's over limit
+    private static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = current;
+            current = recycled;
+        }
+        return prev[b.length()];
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        //entries with a key under this node, best first
+        private final List<Integer> entries = new ArrayList<>();
+    }
+
+}
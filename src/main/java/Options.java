@@ -1,13 +1,34 @@
-import sun.awt.windows.WBufferStrategy;
-
 import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Options {
 
+    //bool field name --> {getter, setter}, in the order they're declared (and exported) in.
+    //Looked up once, so reading/writing an option by name is just a map lookup
+    private static final Map<String, MethodHandle[]> OPTION_HANDLES;
+    static {
+        Map<String, MethodHandle[]> handles = new LinkedHashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : Options.class.getDeclaredFields()) {
+            if (field.getType() == boolean.class) {
+                try {
+                    handles.put(field.getName(), new MethodHandle[]{lookup.unreflectGetter(field), lookup.unreflectSetter(field)});
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        OPTION_HANDLES = Collections.unmodifiableMap(handles);
+    }
+
     private boolean maxAddedAdventurers = true;
     private boolean maxAddedWyrmprints = true;
     private boolean maxAddedDragons = true;
@@ -28,12 +49,7 @@ public class Options {
         List<String> fieldList = new ArrayList<>();
         if (new File(optionsPath).exists()) {
             //compile list of bool fields
-            Field[] fields = this.getClass().getDeclaredFields();
-            for (Field field : fields) {
-                if (field.getType() == boolean.class ) {
-                    fieldList.add(field.getName());
-                }
-            }
+            fieldList.addAll(OPTION_HANDLES.keySet());
 
             //read options file
             BufferedReader br = new BufferedReader(new FileReader(optionsPath));
@@ -90,46 +106,51 @@ public class Options {
     //public boolean toMaxAddedWeapons () { return maxAddedWeapons; }
     //public boolean toMaxAddedFacilities () { return maxAddedFacilities; }
 
-    //reflection is really cool!
+    //returns false if there's no option called fieldName
     public boolean editOption (String fieldName, boolean value) {
-        Field field = null;
-        try {
-            field = this.getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
-            field.setBoolean(this, value);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
+        MethodHandle[] handles = OPTION_HANDLES.get(fieldName);
+        if (handles == null) {
             return false;
         }
+        try {
+            handles[1].invokeExact(this, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
         return true;
     }
 
     public void export() {
         try {
             FileWriter writer = new FileWriter(optionsPath);
-            Field[] fields = this.getClass().getDeclaredFields();
-            for (Field field : fields) {
-                if (field.getType() == boolean.class ) { //we only care about exporting bool fields
-                    String fieldName = field.getName();
-                    boolean fieldValue = Boolean.parseBoolean(field.get(this).toString());
-                    writer.write(fieldName + ":" + fieldValue + "\n");
-                }
+            for (String fieldName : OPTION_HANDLES.keySet()) { //we only care about exporting bool fields
+                writer.write(fieldName + ":" + getFieldValue(fieldName) + "\n");
             }
             writer.close();
             System.out.println("Successfully wrote options to the file: " + optionsPath);
-        } catch (IOException | IllegalAccessException e) {
+        } catch (IOException e) {
             System.out.println("An error occurred.");
             e.printStackTrace();
         }
 
     }
 
+    //for the option prompts. Edits should go through a Snapshot instead
     public boolean getFieldValue (String fieldName) {
+        MethodHandle[] handles = OPTION_HANDLES.get(fieldName);
+        if (handles == null) {
+            return true;
+        }
         try {
-            return Boolean.parseBoolean(this.getClass().getDeclaredField(fieldName).get(this).toString());
-        } catch (IllegalAccessException | NoSuchFieldException e) {
-            e.printStackTrace();
+            return (boolean) handles[0].invokeExact(this);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
         }
-        return true;
+    }
+
+    //the options as they are right now. Options can still change after this (the prompts), take a new one then
+    public Snapshot snapshot() {
+        return new Snapshot(this);
     }
 
     public boolean toPromptEditOptions () { return promptEditOptions; }
@@ -157,6 +178,26 @@ public class Options {
 
 
     }
+    //Options that edits check, as plain final booleans so checking one in a loop costs nothing.
+    public static final class Snapshot {
+        private final boolean maxAddedAdventurers;
+        private final boolean maxAddedWyrmprints;
+        private final boolean maxAddedDragons;
+        private final boolean maxAddedWeapons;
+
+        private Snapshot(Options options) {
+            this.maxAddedAdventurers = options.maxAddedAdventurers;
+            this.maxAddedWyrmprints = options.maxAddedWyrmprints;
+            this.maxAddedDragons = options.maxAddedDragons;
+            this.maxAddedWeapons = options.maxAddedWeapons;
+        }
+
+        public boolean maxAddedAdventurers() { return maxAddedAdventurers; }
+        public boolean maxAddedWyrmprints() { return maxAddedWyrmprints; }
+        public boolean maxAddedDragons() { return maxAddedDragons; }
+        public boolean maxAddedWeapons() { return maxAddedWeapons; }
+    }
+
     /**
      *
      * min version:
@@ -0,0 +1,83 @@
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+import com.google.gson.*;
+
+//Which party slots (the party_setting_list entries in party_list) have which portrait print, dragon and weapon equipped.
+//party_list is scanned once, up front, so replacing an inventory only has to touch the slots that point into it
+//instead of walking every party. Empty slots (0) aren't tracked.
+//Slots should only be changed through remapAll() while one of these is around, so it stays in sync.
+public class PartyRefs {
+
+    public static final String TALISMAN = "equip_talisman_key_id";
+    public static final String DRAGON = "equip_dragon_key_id";
+    public static final String WEAPON = "equip_weapon_body_id";
+    private static final String[] FIELDS = {TALISMAN, DRAGON, WEAPON};
+
+    //field --> key ID --> slots that have it equipped
+    private final Map<String, Map<Integer, List<JsonObject>>> refs = new HashMap<>();
+
+    public PartyRefs(JsonObject saveData) {
+        for (String field : FIELDS) {
+            refs.put(field, new HashMap<>());
+        }
+        JsonObject data = saveData.getAsJsonObject("data");
+        if (data == null || !data.has("party_list")) {
+            return;
+        }
+        for (JsonElement party : data.getAsJsonArray("party_list")) {
+            JsonArray slots = party.getAsJsonObject().getAsJsonArray("party_setting_list");
+            if (slots == null) {
+                continue;
+            }
+            for (JsonElement jsonEle : slots) {
+                JsonObject slot = jsonEle.getAsJsonObject();
+                for (String field : FIELDS) {
+                    JsonElement key = slot.get(field);
+                    if (key != null && key.getAsInt() != 0) {
+                        refs.get(field).computeIfAbsent(key.getAsInt(), k -> new ArrayList<>()).add(slot);
+                    }
+                }
+            }
+        }
+    }
+
+    //the key IDs (body IDs for weapons) equipped somewhere
+    public Set<Integer> getReferencedKeys(String field) {
+        return Collections.unmodifiableSet(refs.get(field).keySet());
+    }
+
+    public List<JsonObject> getSlots(String field, int key) {
+        List<JsonObject> slots = refs.get(field).get(key);
+        return slots == null ? Collections.emptyList() : Collections.unmodifiableList(slots);
+    }
+
+    //Points every slot at newKeyFor(the key it has now), 0 unequips it. All the new keys are worked out
+    //before anything is moved, so remapping a key to one that's also being remapped is fine.
+    //Only slots that actually change are written. Returns how many that was
+    public int remapAll(String field, IntUnaryOperator newKeyFor) {
+        Map<Integer, List<JsonObject>> updated = new HashMap<>();
+        int changed = 0;
+        for (Map.Entry<Integer, List<JsonObject>> entry : refs.get(field).entrySet()) {
+            int oldKey = entry.getKey();
+            int newKey = newKeyFor.applyAsInt(oldKey);
+            List<JsonObject> slots = entry.getValue();
+            if (newKey != oldKey) {
+                for (JsonObject slot : slots) {
+                    slot.addProperty(field, newKey);
+                }
+                changed += slots.size();
+            }
+            if (newKey != 0) {
+                updated.computeIfAbsent(newKey, k -> new ArrayList<>()).addAll(slots);
+            }
+        }
+        refs.put(field, updated);
+        return changed;
+    }
+
+    public int clearAll(String field) {
+        return remapAll(field, key -> 0);
+    }
+
+}
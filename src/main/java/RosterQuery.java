@@ -0,0 +1,155 @@
+import java.util.*;
+import java.util.function.*;
+
+import com.google.gson.*;
+
+//A query over one of the save's indexed lists (chara_list, dragon_list...), each entry joined with its catalog
+//entry (AdventurerMeta, DragonMeta...). Get one from JsonUtils (queryAdventurers()...), narrow it down with
+//where()/matching()/withId(), then walk the results with a Cursor: nothing is copied, you get the save's own entries.
+//e.g. dragons below max level: util.queryDragons().where((dragon, meta) -> dragon.get("level").getAsInt() < meta.getMaxLevel())
+//When the list has one entry per ID and the query is down to a set of IDs (matching()/withId()), those are looked up
+//through SaveIndex instead of scanning the list, and come out in ID order. Otherwise it's list order.
+//Entries the catalog doesn't know are skipped. Adding or removing entries while a cursor is open isn't supported,
+//editing the entries themselves is fine.
+public class RosterQuery<T> {
+
+    private final SaveIndex index;
+    private final JsonArray list;
+    private final String listName;
+    private final String idField;
+    //true if the list never has two entries with the same ID (chara_list, not dragon_list)
+    private final boolean uniqueIds;
+    private final IntFunction<T> metaLookup;
+    private final Function<CatalogFilter, IntSet> catalogSearch;
+
+    //null if any ID goes
+    private IntSet onlyIds;
+    private BiPredicate<JsonObject, T> condition;
+
+    public RosterQuery(SaveIndex index, JsonArray list, String listName, String idField, boolean uniqueIds,
+                       IntFunction<T> metaLookup, Function<CatalogFilter, IntSet> catalogSearch) {
+        this.index = index;
+        this.list = list;
+        this.listName = listName;
+        this.idField = idField;
+        this.uniqueIds = uniqueIds;
+        this.metaLookup = metaLookup;
+        this.catalogSearch = catalogSearch;
+    }
+
+    //entries where condition(entry, meta) is true. Calling it again adds another condition
+    public RosterQuery<T> where(BiPredicate<JsonObject, T> condition) {
+        this.condition = this.condition == null ? condition : this.condition.and(condition);
+        return this;
+    }
+
+    //entries whose catalog entry matches the filter (uses the catalog's indexes, see CatalogIndex)
+    public RosterQuery<T> matching(CatalogFilter filter) {
+        return restrictTo(catalogSearch.apply(filter));
+    }
+
+    public RosterQuery<T> withId(int... ids) {
+        IntSet idSet = new IntSet(ids.length);
+        for (int id : ids) {
+            idSet.add(id);
+        }
+        return restrictTo(idSet);
+    }
+
+    private RosterQuery<T> restrictTo(IntSet ids) {
+        if (onlyIds == null) {
+            onlyIds = ids;
+        } else {
+            IntSet both = new IntSet(Math.min(onlyIds.size(), ids.size()));
+            for (int id : onlyIds.toArray()) {
+                if (ids.contains(id)) {
+                    both.add(id);
+                }
+            }
+            onlyIds = both;
+        }
+        return this;
+    }
+
+    public Cursor<T> cursor() {
+        if (onlyIds != null && uniqueIds && onlyIds.size() < list.size()) {
+            int[] ids = onlyIds.toArray();
+            Arrays.sort(ids);
+            return new Cursor<>(this, ids);
+        }
+        return new Cursor<>(this, null);
+    }
+
+    public int count() {
+        int count = 0;
+        for (Cursor<T> cursor = cursor(); cursor.next(); ) {
+            count++;
+        }
+        return count;
+    }
+
+    public void forEach(BiConsumer<JsonObject, T> action) {
+        for (Cursor<T> cursor = cursor(); cursor.next(); ) {
+            action.accept(cursor.getEntry(), cursor.getMeta());
+        }
+    }
+
+    public String getListName() {
+        return listName;
+    }
+
+    //Walks the results: while (cursor.next()) { cursor.getEntry()... }
+    public static class Cursor<T> {
+        private final RosterQuery<T> query;
+        //IDs to look up through the index, or null to scan the list
+        private final int[] ids;
+        private int position = -1;
+
+        private JsonObject entry;
+        private T meta;
+        private int id;
+
+        private Cursor(RosterQuery<T> query, int[] ids) {
+            this.query = query;
+            this.ids = ids;
+        }
+
+        //moves to the next result, false once there are none left
+        public boolean next() {
+            int end = ids == null ? query.list.size() : ids.length;
+            while (++position < end) {
+                JsonObject candidate;
+                int candidateId;
+                if (ids == null) {
+                    candidate = query.list.get(position).getAsJsonObject();
+                    candidateId = candidate.get(query.idField).getAsInt();
+                    if (query.onlyIds != null && !query.onlyIds.contains(candidateId)) {
+                        continue;
+                    }
+                } else {
+                    candidateId = ids[position];
+                    candidate = query.index.getEntry(query.listName, candidateId);
+                    if (candidate == null) {
+                        continue; //not owned
+                    }
+                }
+                T candidateMeta = query.metaLookup.apply(candidateId);
+                if (candidateMeta == null || (query.condition != null && !query.condition.test(candidate, candidateMeta))) {
+                    continue;
+                }
+                entry = candidate;
+                meta = candidateMeta;
+                id = candidateId;
+                return true;
+            }
+            entry = null;
+            meta = null;
+            return false;
+        }
+
+        public JsonObject getEntry() { return entry; }
+        public T getMeta() { return meta; }
+        public int getId() { return id; }
+    }
+
+}
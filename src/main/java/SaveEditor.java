@@ -1,9 +1,9 @@
 import java.io.*;
-import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class SaveEditor {
@@ -32,15 +32,7 @@ public class SaveEditor {
 
     //for writing Options bool values
     private static void passYesNoArg(String question, String fieldName, Consumer<Boolean> func) {
-        //holy moly this sucks
-        String fieldVal = "?";
-        try {
-            Field field = Options.class.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            fieldVal = Boolean.parseBoolean(field.get(options).toString()) ? "y" : "n";
-        } catch (IllegalAccessException | NoSuchFieldException e) {
-            e.printStackTrace();
-        }
+        String fieldVal = options.getFieldValue(fieldName) ? "y" : "n";
 
         System.out.print(question + " (y/n) (Current: " + fieldVal + "): ");
         String in = input.nextLine();
@@ -129,16 +121,22 @@ public class SaveEditor {
     }
 
     public static void main(String[] args){
+        if (BatchEditor.isBatchArgs(args)) {
+            BatchEditor.main(args);
+            return;
+        }
         System.out.println("\nDragalia Save Editor (v11)\n");
         String programPath = getFilePath();
+        //read the game data in the background while the save path is entered and parsed
+        Catalog catalog = new Catalog();
+        CompletableFuture<Void> catalogWarmUp = catalog.warmUp(Math.min(4, Runtime.getRuntime().availableProcessors()));
         System.out.println("(Leave this input empty and press 'Enter' key if the save file is in the same folder as this program.)");
         System.out.print("Enter path for save file: ");
         String path = input.nextLine();
         String savePath = "";
         String optionsPath = ""; //options.txt should be in the same dir as savefile
-        boolean isFilePathInvalid = true;
-        boolean isFileJsonObject = false;
-        while(isFilePathInvalid || !isFileJsonObject){
+        SaveLoader saveLoader = null;
+        while(saveLoader == null || !saveLoader.isLoaded()){
             if(path.equals("")){
                 if(isOutOfIDE){
                     savePath = Paths.get(new File(programPath).getParent(), "savedata.txt").toString();
@@ -154,9 +152,12 @@ public class SaveEditor {
             } else {
                 savePath = path;
             }
-            isFilePathInvalid = !new File(savePath).exists(); //basic file path exists check
-            isFileJsonObject = JsonUtils.checkIfJsonObject(savePath); //check if its a json object
-            if(isFilePathInvalid || !isFileJsonObject){
+            saveLoader = new SaveLoader(savePath); //checks and parses the save in one go
+            if(!saveLoader.isLoaded()){
+                System.out.println(saveLoader.getError());
+                if(saveLoader.getErrorLine() != -1){
+                    System.out.println("(Error found at line " + saveLoader.getErrorLine() + ", column " + saveLoader.getErrorColumn() + ")");
+                }
                 System.out.println("savedata not found at path: '" + savePath + "'! Did you forget to include the file extension? (.txt or .json)");
                 System.out.println();
                 System.out.println("(Leave this input empty and press 'Enter' key if the save file is in the same folder as this program.)");
@@ -171,8 +172,16 @@ public class SaveEditor {
             optionsPath = Paths.get(new File(savePath).getParent(), "DLSaveEditor_options.txt").toString();
         }
 
-        JsonUtils util = new JsonUtils(savePath, optionsPath, programPath, isOutOfIDE);
-        System.out.println("Save data found at: " + savePath + "\n");
+        try {
+            Catalog.awaitWarmUp(catalogWarmUp);
+        } catch (CatalogLoadException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Unable to read JSON data!");
+            System.exit(99);
+        }
+        JsonUtils util = new JsonUtils(saveLoader.getSaveData(), catalog, optionsPath, programPath, isOutOfIDE);
+        System.out.println("Save data found at: " + savePath);
+        System.out.println(saveLoader.getParseStats() + "\n");
         System.out.println("Hello " + util.getFieldAsString("data", "user_data", "name") + "!");
 
         util.deleteDupeIds(); // idk
@@ -227,20 +236,20 @@ public class SaveEditor {
                 "Max out existing adventurers/dragon/weapons/wyrmprints?",
                 () -> {
                     yesNoQuestion("\tMax out existing adventurers?",
-                            () -> util.maxAdventurers());
+                            () -> System.out.println("Maxed " + util.maxAdventurers() + " adventurers."));
                     yesNoQuestion("\tMax out existing dragons?",
-                            () -> util.maxDragons());
+                            () -> System.out.println("Maxed " + util.maxDragons() + " dragons."));
                     yesNoQuestion("\tMax out existing weapons?",
-                            () -> util.maxWeapons());
+                            () -> System.out.println("Maxed " + util.maxWeapons() + " weapons."));
                     yesNoQuestion("\tMax out existing wyrmprints?",
-                            () -> util.maxWyrmprints());
+                            () -> System.out.println("Maxed " + util.maxWyrmprints() + " wyrmprints."));
                 });
         yesNoQuestion(
                 "Add all missing adventurers to roster?",
                 () -> System.out.println("Added " + util.addMissingAdventurers() + " missing adventurers."),
                 () -> yesNoQuestion("\tWould you like to add specific adventurers to roster?",
-                        () -> continuousInput("\t\tEnter adventurer name",
-                        (advName) -> util.addAdventurer(advName))));
+                        () -> continuousInput("\t\tEnter adventurer name(s)",
+                        (advNames) -> util.addAdventurers(advNames))));
         yesNoQuestion(
                 "Add all missing dragons to roster?",
                 () -> {
@@ -249,12 +258,12 @@ public class SaveEditor {
                             () -> System.out.println(util.addMissingDragons(false)),
                             () -> System.out.println(util.addMissingDragons(true)));
                         yesNoQuestion("\tAdd additional dragons to roster?",
-                            () -> continuousInput("\t\tEnter dragon name",
-                            (dragonName) -> util.addDragon(dragonName)));
+                            () -> continuousInput("\t\tEnter dragon name(s)",
+                            (dragonNames) -> util.addDragons(dragonNames)));
                     },
                 () -> yesNoQuestion("\tWould you like to add additional specific dragons to roster?",
-                        () -> continuousInput("\t\tEnter dragon name",
-                        (dragonName) -> util.addDragon(dragonName))));
+                        () -> continuousInput("\t\tEnter dragon name(s)",
+                        (dragonNames) -> util.addDragons(dragonNames))));
         yesNoQuestion(
                 "Add all missing weapons?",
                 () -> System.out.println("Added " + util.addMissingWeapons() + " missing weapons."));
@@ -0,0 +1,212 @@
+import java.util.*;
+
+import com.google.gson.*;
+
+//Owned IDs and max key IDs for the save's entity lists (chara_list, dragon_list...).
+//Each list is scanned once, the first time it's asked about, and then kept up to date by add()/remove(),
+//so checking "do I own this?" or "what's the highest key?" doesn't rescan the list every time.
+//A list that's swapped out for a new JsonArray (see replace()) is rescanned on its next lookup.
+//Changing an entry's ID or key ID in place (same list, same size) isn't noticed: call invalidate() after doing that.
+//New key IDs for a list come from its KeyAllocator (getKeyAllocator()).
+public class SaveIndex {
+
+    //list name --> {ID field, key ID field (null if the list has no key IDs)}
+    private static final Map<String, String[]> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("chara_list", new String[]{"chara_id", null});
+        FIELDS.put("dragon_list", new String[]{"dragon_id", "dragon_key_id"});
+        FIELDS.put("weapon_body_list", new String[]{"weapon_body_id", null});
+        FIELDS.put("ability_crest_list", new String[]{"ability_crest_id", null});
+        FIELDS.put("talisman_list", new String[]{"talisman_id", "talisman_key_id"});
+        FIELDS.put("weapon_skin_list", new String[]{"weapon_skin_id", null});
+        FIELDS.put("material_list", new String[]{"material_id", null});
+        FIELDS.put("unit_story_list", new String[]{"unit_story_id", null});
+        FIELDS.put("build_list", new String[]{"plant_id", "build_id"});
+        FIELDS.put("summon_ticket_list", new String[]{"summon_ticket_id", "key_id"});
+        FIELDS.put("album_dragon_list", new String[]{"dragon_id", null});
+    }
+
+    //how far apart new key IDs are spaced (what the game itself seems to do)
+    private static final int KEY_STEP = 200;
+
+    private final JsonObject saveData;
+    private final Map<String, ListIndex> indexes = new HashMap<>();
+    private final Map<String, KeyAllocator> keyAllocators = new HashMap<>();
+
+    public SaveIndex(JsonObject saveData) {
+        this.saveData = saveData;
+    }
+
+    public static boolean isIndexed(String listName) {
+        return FIELDS.containsKey(listName);
+    }
+
+    public boolean owns(String listName, int id) {
+        return get(listName).firstEntries.containsKey(id);
+    }
+
+    //the IDs in a list right now (a copy, later edits don't show up in it)
+    public IntSet getIds(String listName) {
+        IntMap<JsonObject> firstEntries = get(listName).firstEntries;
+        IntSet out = new IntSet(firstEntries.size());
+        for (int id : firstEntries.keys()) {
+            out.add(id);
+        }
+        return out;
+    }
+
+    //the first entry in the list with this ID, or null if there isn't one
+    public JsonObject getEntry(String listName, int id) {
+        return get(listName).firstEntries.get(id);
+    }
+
+    //-1 if the list is empty
+    public int getMaxKey(String listName) {
+        ListIndex index = get(listName);
+        if (index.keyField == null) {
+            throw new IllegalArgumentException(listName + " has no key IDs");
+        }
+        if (index.maxKeyStale) {
+            index.maxKey = -1;
+            for (JsonElement jsonEle : index.array) {
+                index.maxKey = Math.max(index.maxKey, jsonEle.getAsJsonObject().get(index.keyField).getAsInt());
+            }
+            index.maxKeyStale = false;
+        }
+        return index.maxKey;
+    }
+
+    //the one allocator every new key ID in this list should come from
+    public KeyAllocator getKeyAllocator(String listName) {
+        if (FIELDS.get(listName) == null || FIELDS.get(listName)[1] == null) {
+            throw new IllegalArgumentException(listName + " has no key IDs");
+        }
+        return keyAllocators.computeIfAbsent(listName, name -> new KeyAllocator(this, name, KEY_STEP, 0));
+    }
+
+    public int size(String listName) {
+        return get(listName).array.size();
+    }
+
+    //appends entry to the list in the save
+    public void add(String listName, JsonObject entry) {
+        JsonObject data = saveData.getAsJsonObject("data");
+        if (!data.has(listName)) {
+            data.add(listName, new JsonArray());
+        }
+        ListIndex index = get(listName);
+        index.array.add(entry);
+        index.track(entry);
+    }
+
+    //appends all of entries to the list in the save in one go
+    public void addAll(String listName, JsonArray entries) {
+        JsonObject data = saveData.getAsJsonObject("data");
+        if (!data.has(listName)) {
+            data.add(listName, new JsonArray());
+        }
+        ListIndex index = get(listName);
+        index.array.addAll(entries);
+        for (JsonElement jsonEle : entries) {
+            index.track(jsonEle.getAsJsonObject());
+        }
+    }
+
+    //removes this exact entry (not just an equal one) from the list in the save
+    public void remove(String listName, JsonObject entry) {
+        ListIndex index = get(listName);
+        for (int i = 0; i < index.array.size(); i++) {
+            if (index.array.get(i) == entry) {
+                index.array.remove(i);
+                index.untrack(entry);
+                return;
+            }
+        }
+    }
+
+    //puts a new list in the save (in the old one's spot), it's indexed again the next time it's asked about
+    public void replace(String listName, JsonArray list) {
+        saveData.getAsJsonObject("data").add(listName, list);
+        indexes.remove(listName);
+        keyAllocators.remove(listName);
+    }
+
+    //Forgets what's known about the list, it's rescanned on its next lookup. For when entries' IDs/key IDs
+    //were changed in place. The list's KeyAllocator is kept, so keys it already handed out aren't reused
+    public void invalidate(String listName) {
+        indexes.remove(listName);
+    }
+
+    private ListIndex get(String listName) {
+        String[] fields = FIELDS.get(listName);
+        if (fields == null) {
+            throw new IllegalArgumentException(listName + " is not indexed");
+        }
+        JsonArray array = getArray(listName);
+        ListIndex index = indexes.get(listName);
+        //also catches the list being swapped or edited behind the index's back
+        if (index == null || index.array != array || index.trackedSize != array.size()) {
+            index = new ListIndex(array, fields[0], fields[1]);
+            indexes.put(listName, index);
+        }
+        return index;
+    }
+
+    //a save (or the part of one SaveStreamer hands over) may not have the list at all
+    private JsonArray getArray(String listName) {
+        JsonObject data = saveData.getAsJsonObject("data");
+        if (data == null || !data.has(listName)) {
+            return new JsonArray();
+        }
+        return data.getAsJsonArray(listName);
+    }
+
+    private static class ListIndex {
+        private final JsonArray array;
+        private final String idField;
+        private final String keyField;
+        //ID --> first entry with it (album entries are looked up by dragon_id, for example)
+        private final IntMap<JsonObject> firstEntries;
+        private int maxKey = -1;
+        private boolean maxKeyStale;
+        private int trackedSize;
+
+        ListIndex(JsonArray array, String idField, String keyField) {
+            this.array = array;
+            this.idField = idField;
+            this.keyField = keyField;
+            firstEntries = new IntMap<>(array.size());
+            for (JsonElement jsonEle : array) {
+                track(jsonEle.getAsJsonObject());
+            }
+        }
+
+        void track(JsonObject entry) {
+            int id = entry.get(idField).getAsInt();
+            firstEntries.putIfAbsent(id, entry);
+            if (keyField != null && !maxKeyStale) {
+                maxKey = Math.max(maxKey, entry.get(keyField).getAsInt());
+            }
+            trackedSize++;
+        }
+
+        void untrack(JsonObject entry) {
+            int id = entry.get(idField).getAsInt();
+            if (firstEntries.get(id) == entry) {
+                //if another entry has this ID too, it's the first one now (entry is already out of the array)
+                firstEntries.remove(id);
+                for (JsonElement jsonEle : array) {
+                    if (jsonEle.getAsJsonObject().get(idField).getAsInt() == id) {
+                        firstEntries.put(id, jsonEle.getAsJsonObject());
+                        break;
+                    }
+                }
+            }
+            if (keyField != null && entry.get(keyField).getAsInt() == maxKey) {
+                maxKeyStale = true; //worked out again on the next getMaxKey()
+            }
+            trackedSize--;
+        }
+    }
+
+}
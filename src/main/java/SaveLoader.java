@@ -0,0 +1,89 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+
+//Reads a save file once: checks that it's a JSON object and keeps the parsed tree for JsonUtils,
+//or keeps what went wrong (with the line/column when Gson gives one).
+public class SaveLoader {
+
+    private static final Gson GSON = new Gson();
+    //Gson puts the error position in the message, e.g. "Unterminated object at line 5 column 3 path $.data"
+    private static final Pattern POSITION = Pattern.compile("line (\\d+) column (\\d+)");
+
+    private final String path;
+    private JsonObject saveData;
+
+    private String error;
+    private int errorLine = -1;
+    private int errorColumn = -1;
+
+    private long byteCount;
+    private long parseNanos;
+
+    public SaveLoader(String path) {
+        this.path = path;
+        load();
+    }
+
+    private void load() {
+        File file = new File(path);
+        if (!file.isFile()) {
+            error = "JSON data not found at this filepath";
+            return;
+        }
+        long start = System.nanoTime();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(file)))) {
+            byteCount = Files.size(Paths.get(path));
+            JsonElement parsed = GSON.fromJson(reader, JsonElement.class);
+            if (parsed == null || !parsed.isJsonObject()) {
+                error = "savedata.txt does not appear to be in JSON format! (expected a JSON object)";
+            } else {
+                saveData = parsed.getAsJsonObject();
+            }
+        } catch (JsonParseException e) {
+            error = "savedata.txt does not appear to be in JSON format! " + rootMessage(e);
+            Matcher matcher = POSITION.matcher(String.valueOf(e.getMessage()));
+            if (matcher.find()) {
+                errorLine = Integer.parseInt(matcher.group(1));
+                errorColumn = Integer.parseInt(matcher.group(2));
+            }
+        } catch (IOException e) {
+            error = "Unable to read savedata: " + e.getMessage();
+        }
+        parseNanos = System.nanoTime() - start;
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e.getMessage();
+    }
+
+    public boolean isLoaded() { return saveData != null; }
+    public JsonObject getSaveData() { return saveData; }
+    public String getPath() { return path; }
+
+    public String getError() { return error; }
+    //-1 if the error has no position (missing file, not an object...)
+    public int getErrorLine() { return errorLine; }
+    public int getErrorColumn() { return errorColumn; }
+
+    public long getByteCount() { return byteCount; }
+    public long getParseNanos() { return parseNanos; }
+
+    public double getBytesPerSecond() {
+        return parseNanos == 0 ? 0 : byteCount / (parseNanos / 1e9);
+    }
+
+    public String getParseStats() {
+        return String.format("Parsed %.2f MB in %d ms (%.1f MB/s)",
+                byteCount / 1e6, parseNanos / 1_000_000, getBytesPerSecond() / 1e6);
+    }
+
+}
@@ -0,0 +1,70 @@
+import java.util.Arrays;
+
+import com.google.gson.*;
+
+//A member path into a save, like ("data", "user_data", "max_dragon_quantity"), for fields that are read or written a lot.
+//The objects along the way are looked up once per save and kept, so each call is a single lookup of the last member.
+//That also means it still sees lists that get swapped for new ones (index.replace(), buildKscapeInventory()...).
+//The objects along the way ("data", "user_data") are never swapped by the editor.
+//Not thread safe, each JsonUtils has its own.
+public class SavePath {
+
+    private final String[] parentNames;
+    private final String name;
+
+    //the save the parent was looked up in
+    private JsonObject root;
+    private JsonObject parent;
+
+    public SavePath(String... memberNames) {
+        parentNames = Arrays.copyOf(memberNames, memberNames.length - 1);
+        name = memberNames[memberNames.length - 1];
+    }
+
+    //null if the save doesn't have it
+    public JsonElement get(JsonObject root) {
+        JsonObject parent = getParent(root);
+        return parent == null ? null : parent.get(name);
+    }
+
+    public boolean exists(JsonObject root) {
+        return get(root) != null;
+    }
+
+    public int getInt(JsonObject root) {
+        return get(root).getAsInt();
+    }
+
+    public JsonArray getArray(JsonObject root) {
+        return get(root).getAsJsonArray();
+    }
+
+    //the value keeps its spot in the save
+    public void set(JsonObject root, int value) {
+        getParent(root).addProperty(name, value);
+    }
+
+    public void set(JsonObject root, long value) {
+        getParent(root).addProperty(name, value);
+    }
+
+    public void set(JsonObject root, JsonElement value) {
+        getParent(root).add(name, value);
+    }
+
+    private JsonObject getParent(JsonObject root) {
+        if (root != this.root || parent == null) {
+            JsonElement jsonEle = root;
+            for (String parentName : parentNames) {
+                if (jsonEle == null || !jsonEle.isJsonObject()) {
+                    break;
+                }
+                jsonEle = jsonEle.getAsJsonObject().get(parentName);
+            }
+            this.root = root;
+            this.parent = jsonEle != null && jsonEle.isJsonObject() ? jsonEle.getAsJsonObject() : null;
+        }
+        return parent;
+    }
+
+}
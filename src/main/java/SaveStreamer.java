@@ -0,0 +1,182 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+//Edits a save without ever holding the whole JsonObject tree in memory.
+//Tokens are copied straight from the input to the output, and only the lists under "data" that an edit
+//rewrites are parsed into a tree, one at a time as they stream past. Each of those lists is handed to a
+//JsonUtils whose tree only holds that one list, so edits here have to stay within a single list.
+//Lists the save doesn't have are edited last, starting from nothing, and added to the end of "data" if the
+//edits made them, same as they would be in the tree.
+//The output is byte for byte what JsonUtils.writeToFile() would have written, except that lists no edit
+//touches are copied as-is (deleteDupeIds() only sees the edited ones, see getDupeReport()).
+public class SaveStreamer {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Catalog catalog;
+    private final Options options;
+
+    //list name --> edits to run on it, in order
+    private final LinkedHashMap<String, List<Consumer<JsonUtils>>> edits = new LinkedHashMap<>();
+    //lists whose old value is never looked at (the first edit on them replaces them)
+    private final Set<String> replacedLists = new HashSet<>();
+
+    private boolean passedTests;
+    //what deleteDupeIds() did to the edited lists of the last save streamed
+    private DupeRepair.Report dupeReport = new DupeRepair.Report();
+
+    public SaveStreamer(Catalog catalog, Options options) {
+        this.catalog = catalog;
+        this.options = options;
+    }
+
+    public void edit(String listName, Consumer<JsonUtils> edit) {
+        edits.computeIfAbsent(listName, name -> new ArrayList<>()).add(edit);
+    }
+
+    //like edit(), but the edit throws away the old list, so it's skipped instead of parsed
+    public void replace(String listName, Consumer<JsonUtils> edit) {
+        if (!edits.containsKey(listName)) {
+            replacedLists.add(listName);
+        }
+        edit(listName, edit);
+    }
+
+    //returns false (and writes nothing) if an edited list fails the export tests
+    public boolean stream(String inPath, String outPath) throws IOException {
+        Path out = Paths.get(outPath);
+        Path tmp = Paths.get(outPath + ".tmp");
+        passedTests = true;
+        dupeReport = new DupeRepair.Report();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(inPath)));
+             JsonWriter writer = GSON.newJsonWriter(new BufferedWriter(new FileWriter(tmp.toFile())))) {
+            reader.beginObject();
+            writer.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                writer.name(name);
+                if (name.equals("data") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    streamData(reader, writer);
+                } else {
+                    copy(reader, writer);
+                }
+            }
+            reader.endObject();
+            writer.endObject();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        if (!passedTests) {
+            Files.delete(tmp);
+            return false;
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    public DupeRepair.Report getDupeReport() {
+        return dupeReport;
+    }
+
+    private void streamData(JsonReader reader, JsonWriter writer) throws IOException {
+        reader.beginObject();
+        writer.beginObject();
+        Set<String> missingLists = new LinkedHashSet<>(edits.keySet());
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            missingLists.remove(name);
+            if (!edits.containsKey(name)) {
+                writer.name(name);
+                copy(reader, writer);
+                continue;
+            }
+            JsonElement list;
+            if (replacedLists.contains(name)) {
+                reader.skipValue();
+                list = new JsonArray();
+            } else {
+                list = GSON.fromJson(reader, JsonElement.class);
+            }
+            JsonElement edited = editList(name, list);
+            if (edited != null) {
+                writer.name(name);
+                GSON.toJson(edited, writer);
+            }
+        }
+        for (String name : missingLists) {
+            JsonElement edited = editList(name, null);
+            if (edited != null) {
+                writer.name(name);
+                GSON.toJson(edited, writer);
+            }
+        }
+        reader.endObject();
+        writer.endObject();
+    }
+
+    //list is null if the save doesn't have it. Returns null if there's no list after the edits either
+    private JsonElement editList(String name, JsonElement list) {
+        JsonObject data = new JsonObject();
+        if (list != null) {
+            data.add(name, list);
+        }
+        JsonObject partialSave = new JsonObject();
+        partialSave.add("data", data);
+
+        JsonUtils util = new JsonUtils(partialSave, catalog, options);
+        dupeReport.add(util.deleteDupeIds());
+        edits.get(name).forEach(edit -> edit.accept(util));
+        util.applyFortBonuses();
+        passedTests &= util.checkTests();
+        return data.get(name);
+    }
+
+    //copies one value (and everything inside it) token by token
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copy(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copy(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                writer.jsonValue(reader.nextString()); //keep the number exactly as written
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                throw new JsonSyntaxException("Unexpected token " + reader.peek() + " in save data");
+        }
+    }
+
+}
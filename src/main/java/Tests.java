@@ -2,9 +2,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class Tests {
 
@@ -21,11 +19,14 @@ public class Tests {
     }
 
     public String noDupeCharaIdTest(){
+        if (!hasList("chara_list")) {
+            return "N/A";
+        }
         boolean[] out = new boolean[]{true};
         String[] oopsID = new String[]{""};
 
         JsonArray charaList = jsonData.get("data").getAsJsonObject().get("chara_list").getAsJsonArray();
-        Set<Integer> charaIds = new HashSet<>();
+        IntSet charaIds = new IntSet();
         charaList.forEach(jsonEle -> {
             JsonObject chara = jsonEle.getAsJsonObject();
             int charaId = chara.get("chara_id").getAsInt();
@@ -39,11 +40,14 @@ public class Tests {
     }
 
     public String noDupeDragonKeyIdTest(){
+        if (!hasList("dragon_list")) {
+            return "N/A";
+        }
         boolean[] out = new boolean[]{true};
         String[] oopsID = new String[]{""};
 
         JsonArray list = jsonData.get("data").getAsJsonObject().get("dragon_list").getAsJsonArray();
-        Set<Integer> ids = new HashSet<>();
+        IntSet ids = new IntSet();
         list.forEach(jsonEle -> {
             JsonObject chara = jsonEle.getAsJsonObject();
             int id = chara.get("dragon_key_id").getAsInt();
@@ -57,11 +61,14 @@ public class Tests {
     }
 
     public String noDupeTalismanKeyIdTest(){
+        if (!hasList("talisman_list")) {
+            return "N/A";
+        }
         boolean[] out = new boolean[]{true};
         String[] oopsID = new String[]{""};
 
         JsonArray list = jsonData.get("data").getAsJsonObject().get("talisman_list").getAsJsonArray();
-        Set<Integer> ids = new HashSet<>();
+        IntSet ids = new IntSet();
         list.forEach(jsonEle -> {
             JsonObject chara = jsonEle.getAsJsonObject();
             int id = chara.get("talisman_key_id").getAsInt();
@@ -75,11 +82,14 @@ public class Tests {
     }
 
     public String noDupeWeaponSkinIdTest(){
+        if (!hasList("weapon_skin_list")) {
+            return "N/A";
+        }
         boolean[] out = new boolean[]{true};
         String[] oopsID = new String[]{""};
 
         JsonArray list = jsonData.get("data").getAsJsonObject().get("weapon_skin_list").getAsJsonArray();
-        Set<Integer> ids = new HashSet<>();
+        IntSet ids = new IntSet();
         list.forEach(jsonEle -> {
             JsonObject chara = jsonEle.getAsJsonObject();
             int id = chara.get("weapon_skin_id").getAsInt();
@@ -93,11 +103,14 @@ public class Tests {
     }
 
     public String noDupeCrestIdTest(){
+        if (!hasList("ability_crest_list")) {
+            return "N/A";
+        }
         boolean[] out = new boolean[]{true};
         String[] oopsID = new String[]{""};
 
         JsonArray list = jsonData.get("data").getAsJsonObject().get("ability_crest_list").getAsJsonArray();
-        Set<Integer> ids = new HashSet<>();
+        IntSet ids = new IntSet();
         list.forEach(jsonEle -> {
             JsonObject chara = jsonEle.getAsJsonObject();
             int id = chara.get("ability_crest_id").getAsInt();
@@ -110,6 +123,48 @@ public class Tests {
         return boolToString(out[0], oopsID[0]);
     }
 
+    public String noDupeBuildIdTest(){
+        if (!hasList("build_list")) {
+            return "N/A";
+        }
+        boolean[] out = new boolean[]{true};
+        String[] oopsID = new String[]{""};
+
+        JsonArray list = jsonData.get("data").getAsJsonObject().get("build_list").getAsJsonArray();
+        IntSet ids = new IntSet();
+        list.forEach(jsonEle -> {
+            JsonObject chara = jsonEle.getAsJsonObject();
+            int id = chara.get("build_id").getAsInt();
+            if(ids.contains(id)){
+                out[0] = false;
+                oopsID[0] = Integer.toString(id);
+            }
+            ids.add(id);
+        });
+        return boolToString(out[0], oopsID[0]);
+    }
+
+    public String noDupeSummonTicketKeyIdTest(){
+        if (!hasList("summon_ticket_list")) {
+            return "N/A";
+        }
+        boolean[] out = new boolean[]{true};
+        String[] oopsID = new String[]{""};
+
+        JsonArray list = jsonData.get("data").getAsJsonObject().get("summon_ticket_list").getAsJsonArray();
+        IntSet ids = new IntSet();
+        list.forEach(jsonEle -> {
+            JsonObject chara = jsonEle.getAsJsonObject();
+            int id = chara.get("key_id").getAsInt();
+            if(ids.contains(id)){
+                out[0] = false;
+                oopsID[0] = Integer.toString(id);
+            }
+            ids.add(id);
+        });
+        return boolToString(out[0], oopsID[0]);
+    }
+
     public String weaponPassivesIdTest() {
         if (!hasFlags("maxWeapons", "addMissingWeapons")) {
             return "N/A";
@@ -136,6 +191,11 @@ public class Tests {
         return boolToString(abilityCount == 423, Integer.toString(abilityCount));
     }
 
+    //partial saves (see SaveStreamer) only hold the lists that were edited
+    public boolean hasList(String listName) {
+        return jsonData.get("data").getAsJsonObject().has(listName);
+    }
+
     public boolean hasFlags(String... flags) {
         for (String flag : flags) {
             if(!testFlags.contains(flag)) {
@@ -12,6 +12,9 @@ public class AdventurerMeta {
             0, 0, 0, 0, false, false, 0,
             0, 0, 0, 0, 0, 0, 0, "IDK");
 
+    //for CatalogFile's flyweights
+    protected AdventurerMeta() {}
+
     public AdventurerMeta(String name, String title, int id, int elementId, int maxHp, int maxStr,
                           int maxLimitBreakCount, boolean hasSkillShare, boolean hasManaSpiral, int maxA3Level,
                           int minHp3, int minHp4, int minHp5, int minStr3, int minStr4, int minStr5, int baseRarity,
@@ -48,30 +51,37 @@ public class AdventurerMeta {
     public boolean hasManaSpiral(){ return hasManaSpiral; }
     public int getMaxA3Level(){ return maxA3Level; }
     public int getBaseRarity() {return baseRarity; }
+    public String getManaCircleType(){ return manaCircleType; }
+    public int getMinHp3(){ return minHp3; }
+    public int getMinHp4(){ return minHp4; }
+    public int getMinHp5(){ return minHp5; }
+    public int getMinStr3(){ return minStr3; }
+    public int getMinStr4(){ return minStr4; }
+    public int getMinStr5(){ return minStr5; }
 
 
     public int getMinHp () {
-        switch (baseRarity) {
-            case 3: return minHp3;
-            case 4: return minHp4;
-            case 5: return minHp5;
+        switch (getBaseRarity()) {
+            case 3: return getMinHp3();
+            case 4: return getMinHp4();
+            case 5: return getMinHp5();
         }
         System.out.println("Invalid base rarity when returning minHp");
         return 0;
     }
 
     public int getMinStr () {
-        switch (baseRarity) {
-            case 3: return minStr3;
-            case 4: return minStr4;
-            case 5: return minStr5;
+        switch (getBaseRarity()) {
+            case 3: return getMinStr3();
+            case 4: return getMinStr4();
+            case 5: return getMinStr5();
         }
         System.out.println("Invalid base rarity when returning minStr");
         return 0;
     }
 
     public int getMinA1Level () {
-        switch (manaCircleType) {
+        switch (getManaCircleType()) {
             case "MC_0404":
             case "MC_0502":
             case "MC_0504":
@@ -87,7 +97,7 @@ public class AdventurerMeta {
     }
 
     public int getMinFsLevel () {
-        switch (manaCircleType) {
+        switch (getManaCircleType()) {
             case "MC_0504":
             case "MC_0514":
                 return 1;
@@ -18,6 +18,9 @@ public class DragonMeta {
         this.hasA2 = hasA2;
     }
 
+    //for CatalogFile's flyweights
+    protected DragonMeta() {}
+
     public String getName(){ return name; }
     public int getId(){ return id; }
     public int getElementId(){ return elementId; }
@@ -28,11 +31,11 @@ public class DragonMeta {
     public boolean hasA2(){ return hasA2; }
 
     public int getMaxLevel(){
-        switch(rarity){
+        switch(getRarity()){
             case 3: return 60;
             case 4: return 80;
             case 5:
-                if(has5UB){
+                if(has5UB()){
                     return 120;
                 }
                 return 100;
@@ -41,11 +44,11 @@ public class DragonMeta {
     }
 
     public int getMaxXp(){
-        switch(rarity){
+        switch(getRarity()){
             case 3: return 277320;
             case 4: return 625170;
             case 5:
-                if(has5UB){
+                if(has5UB()){
                     return 3365620;
                 }
                 return 1240020;
@@ -15,11 +15,14 @@ public class FacilityMeta {
         this.maxBuildCount = maxBuildCount;
     }
 
+    //for CatalogFile's flyweights
+    protected FacilityMeta() {}
+
     public String getName(){ return name; }
     public int getId(){ return id; }
     public int getMaxLevel(){ return maxLevel; }
     public boolean isResourceFacility(){ return isResourceFacility; }
     public int getMaxBuildCount(){ return maxBuildCount; }
 
-    public String getDetailId(){ return id + "" + (maxLevel > 9 ? maxLevel : "0" + maxLevel); } //AAAAAABB
+    public String getDetailId(){ return getId() + "" + (getMaxLevel() > 9 ? getMaxLevel() : "0" + getMaxLevel()); } //AAAAAABB
 }
@@ -11,6 +11,9 @@ public class MaterialMeta {
         this.category = category;
     }
 
+    //for CatalogFile's flyweights
+    protected MaterialMeta() {}
+
     public String getName(){ return name; }
     public int getId(){ return id; }
     public String getCategory(){ return category; }
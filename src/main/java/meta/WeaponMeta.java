@@ -21,6 +21,9 @@ public class WeaponMeta {
         this.hasWeaponBonus = hasWeaponBonus;
     }
 
+    //for CatalogFile's flyweights
+    protected WeaponMeta() {}
+
     public String getName(){ return name; }
     public int getId(){ return id; }
     public int getElementId(){ return elementId; }
@@ -11,6 +11,9 @@ public class WyrmprintMeta {
         this.rarity = rarity;
     }
 
+    //for CatalogFile's flyweights
+    protected WyrmprintMeta() {}
+
     public String getName(){ return name; }
     public int getId(){ return id; }
     public int getRarity(){ return rarity; }